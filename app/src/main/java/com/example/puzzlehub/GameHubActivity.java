@@ -6,6 +6,9 @@ import android.os.Bundle;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.puzzlehub.engine.DailyChallenge;
+import com.example.puzzlehub.solver.DailyPar;
+import com.example.puzzlehub.solver.PuzzlePools;
 import com.google.android.material.card.MaterialCardView;
 
 /**
@@ -21,20 +24,61 @@ import com.google.android.material.card.MaterialCardView;
  * - Explicit Intents (navigating to MemoryMatchActivity or SlidingPuzzleActivity)
  * - Intent Extras (passing GAME_TYPE and DIFFICULTY to the next Activity)
  * - MaterialCardView for game selection cards
+ *
+ * DAILY CHALLENGE:
+ * The third card starts today's seeded 4×4 sliding board or 6×6 memory deal (the same
+ * for every player, see DailyChallenge). The day number travels as the "DAILY_DAY"
+ * extra. Par for today is calculated in the background by DailyPar the first time this
+ * screen opens on a new day, long before anyone finishes the puzzle.
  */
 public class GameHubActivity extends AppCompatActivity {
+    // Difficulties offered in the memory difficulty dialog (same order as its items)
+    private static final String[] MEMORY_DIFFICULTIES = {"EASY", "HARD", "8x8", "10x10"};
+    // Grid sizes offered in the sliding difficulty dialog (same order as its items)
+    private static final int[] SLIDING_SIZES = {3, 4, 5, 6, 8, 10};
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_game_hub);
 
+        // Start generating sliding boards in the background while the player chooses
+        PuzzlePools.warmUp(this);
+        // Work out today's Daily Challenge par once per day, also in the background
+        DailyPar.prepare(this);
+
         // MaterialCardView is used for clickable game selection cards
         MaterialCardView cardMemory = findViewById(R.id.cardMemory);
         MaterialCardView cardSliding = findViewById(R.id.cardSliding);
+        MaterialCardView cardDaily = findViewById(R.id.cardDaily);
 
         // When a card is clicked, show a difficulty selection dialog
         cardMemory.setOnClickListener(v -> showMemoryDifficultyDialog());
         cardSliding.setOnClickListener(v -> showSlidingDifficultyDialog());
+        cardDaily.setOnClickListener(v -> showDailyDialog());
+    }
+
+    /** Lets the user pick today's sliding board or memory deal */
+    private void showDailyDialog() {
+        int size = DailyChallenge.SLIDE_SIZE;
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.daily_challenge)
+                .setItems(new String[]{"Sliding Puzzle (" + size + "×" + size + ")", "Memory Match (6×6)"},
+                        (dialog, which) -> {
+                            Intent intent;
+                            if (which == 0) {
+                                intent = new Intent(this, SlidingPuzzleActivity.class);
+                                intent.putExtra("GAME_TYPE", "SLIDE");
+                                intent.putExtra("DIFFICULTY", size + "x" + size);
+                            } else {
+                                intent = new Intent(this, MemoryMatchActivity.class);
+                                intent.putExtra("GAME_TYPE", "MEMORY");
+                                intent.putExtra("DIFFICULTY", "HARD");
+                            }
+                            intent.putExtra("DAILY_DAY", DailyPar.today());
+                            startActivity(intent);
+                        })
+                .show();
     }
 
     /**
@@ -44,12 +88,12 @@ public class GameHubActivity extends AppCompatActivity {
     private void showMemoryDifficultyDialog() {
         new AlertDialog.Builder(this)
                 .setTitle(R.string.select_difficulty)
-                .setItems(new String[]{"Easy (4×4)", "Hard (6×6)"}, (dialog, which) -> {
+                .setItems(new String[]{"Easy (4×4)", "Hard (6×6)", "8×8", "10×10"}, (dialog, which) -> {
                     // EXPLICIT INTENT with EXTRAS: Navigate to MemoryMatchActivity
                     Intent intent = new Intent(this, MemoryMatchActivity.class);
                     // putExtra() attaches data to the intent so the next Activity can read it
                     intent.putExtra("GAME_TYPE", "MEMORY");
-                    intent.putExtra("DIFFICULTY", which == 0 ? "EASY" : "HARD");
+                    intent.putExtra("DIFFICULTY", MEMORY_DIFFICULTIES[which]);
                     startActivity(intent);
                 })
                 .show();
@@ -62,11 +106,12 @@ public class GameHubActivity extends AppCompatActivity {
     private void showSlidingDifficultyDialog() {
         new AlertDialog.Builder(this)
                 .setTitle(R.string.select_difficulty)
-                .setItems(new String[]{"3×3", "4×4"}, (dialog, which) -> {
+                .setItems(new String[]{"3×3", "4×4", "5×5", "6×6", "8×8", "10×10"}, (dialog, which) -> {
+                    int size = SLIDING_SIZES[which];
                     // EXPLICIT INTENT with EXTRAS: Navigate to SlidingPuzzleActivity
                     Intent intent = new Intent(this, SlidingPuzzleActivity.class);
                     intent.putExtra("GAME_TYPE", "SLIDE");
-                    intent.putExtra("DIFFICULTY", which == 0 ? "3x3" : "4x4");
+                    intent.putExtra("DIFFICULTY", size + "x" + size);
                     startActivity(intent);
                 })
                 .show();
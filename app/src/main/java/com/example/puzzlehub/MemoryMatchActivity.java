@@ -7,10 +7,14 @@ import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.example.puzzlehub.fragment.BaseMemoryFragment;
 import com.example.puzzlehub.fragment.MemoryEasyFragment;
 import com.example.puzzlehub.fragment.MemoryHardFragment;
+import com.example.puzzlehub.fragment.MemoryNxNFragment;
+import com.example.puzzlehub.viewmodel.GameViewModel;
+import com.example.puzzlehub.viewmodel.MemoryGameViewModel;
 import com.google.android.material.button.MaterialButton;
 
 import java.util.Locale;
@@ -23,6 +27,7 @@ import java.util.Locale;
  * A Fragment is a reusable piece of UI that lives inside an Activity.
  * - MemoryEasyFragment shows a 4×4 grid
  * - MemoryHardFragment shows a 6×6 grid
+ * - MemoryNxNFragment shows an 8×8 or 10×10 grid ("8x8" / "10x10")
  * The Fragment is loaded into a FrameLayout container in the XML layout.
  *
  * READING INTENT EXTRAS:
@@ -31,20 +36,23 @@ import java.util.Locale;
  *
  * TIMER:
  * Uses a simple Handler to count elapsed seconds (no advanced threading).
+ * The seconds are kept in the game's ViewModel, so they survive a rotation. The clock
+ * pauses while the screen is in the background, and onStop() saves the game to disk
+ * so it can be resumed later (see GameViewModel).
  */
 public class MemoryMatchActivity extends AppCompatActivity {
     private TextView tvTimer;
     private TextView tvMoves;
     // Handler is used for the simple timer - it runs code on the main thread after a delay
     private final Handler timerHandler = new Handler(Looper.getMainLooper());
-    private int elapsedSeconds = 0;
     private boolean timerRunning = false;
+    private MemoryGameViewModel game;  // The game in progress, including its elapsed seconds
 
     // Runnable that increments the timer every 1 second
     private final Runnable timerRunnable = new Runnable() {
         @Override
         public void run() {
-            elapsedSeconds++;
+            game.incrementElapsedSeconds();
             updateTimerDisplay();
             // Schedule this runnable to run again in 1 second (1000ms)
             timerHandler.postDelayed(this, 1000);
@@ -54,6 +62,10 @@ public class MemoryMatchActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        // Shared with the board fragment; survives rotation (see GameViewModel)
+        game = new ViewModelProvider(this).get(MemoryGameViewModel.class);
+        // Daily Challenge: the fragment's game uses the day's seeded board instead of a random one
+        game.setDailyDay(getIntent().getLongExtra("DAILY_DAY", GameViewModel.NO_DAILY));
         setContentView(R.layout.activity_memory_match);
 
         tvTimer = findViewById(R.id.tvTimer);
@@ -63,35 +75,46 @@ public class MemoryMatchActivity extends AppCompatActivity {
         // READING INTENT EXTRAS: Get the difficulty that was passed from GameHubActivity
         String difficulty = getIntent().getStringExtra("DIFFICULTY");
 
-        // Choose which Fragment to display based on the difficulty
-        Fragment fragment;
-        if ("HARD".equals(difficulty)) {
-            fragment = MemoryHardFragment.newInstance();
-        } else {
-            fragment = MemoryEasyFragment.newInstance();
+        // FRAGMENT TRANSACTION: Load the fragment for the difficulty into the container.
+        // replace() swaps the fragment in the FrameLayout with id "fragmentContainer".
+        // After a rotation (or process death) the FragmentManager restores the fragment
+        // by itself - adding another one would throw the game away.
+        if (savedInstanceState == null) {
+            Fragment fragment;
+            int size = parseLargeGridSize(difficulty);
+            if ("HARD".equals(difficulty)) {
+                fragment = MemoryHardFragment.newInstance();
+            } else if (size > 0) {
+                fragment = MemoryNxNFragment.newInstance(size);
+            } else {
+                fragment = MemoryEasyFragment.newInstance();
+            }
+            getSupportFragmentManager().beginTransaction()
+                    .replace(R.id.fragmentContainer, fragment)
+                    .commit();
         }
 
-        // FRAGMENT TRANSACTION: Load the chosen fragment into the container
-        // replace() swaps the fragment in the FrameLayout with id "fragmentContainer"
-        getSupportFragmentManager().beginTransaction()
-                .replace(R.id.fragmentContainer, fragment)
-                .commit();
-
         // Restart button resets the timer, moves, and the game board
         btnRestart.setOnClickListener(v -> {
             stopTimer();
-            elapsedSeconds = 0;
-            updateTimerDisplay();
-            tvMoves.setText("Moves: 0");
 
             // Get the current fragment and call its resetGame() method
             Fragment currentFragment = getSupportFragmentManager().findFragmentById(R.id.fragmentContainer);
             if (currentFragment instanceof BaseMemoryFragment) {
                 ((BaseMemoryFragment) currentFragment).resetGame();
             }
+            updateTimerDisplay();
+            updateMoves(0);
         });
     }
 
+    /** Grid size of a large board difficulty ("8x8" or "10x10"), or 0 for anything else */
+    private static int parseLargeGridSize(String difficulty) {
+        if ("8x8".equals(difficulty)) return 8;
+        if ("10x10".equals(difficulty)) return 10;
+        return 0;
+    }
+
     /** Called by the Fragment to update the move counter display */
     public void updateMoves(int moves) {
         tvMoves.setText(String.format(Locale.US, "Moves: %d", moves));
@@ -109,16 +132,41 @@ public class MemoryMatchActivity extends AppCompatActivity {
     public int stopTimer() {
         timerRunning = false;
         timerHandler.removeCallbacks(timerRunnable);
-        return elapsedSeconds;
+        return game.getElapsedSeconds();
     }
 
     /** Updates the timer display in MM:SS format */
     private void updateTimerDisplay() {
-        int min = elapsedSeconds / 60;
-        int sec = elapsedSeconds % 60;
+        int seconds = game.getElapsedSeconds();
+        int min = seconds / 60;
+        int sec = seconds % 60;
         tvTimer.setText(String.format(Locale.US, "Time: %02d:%02d", min, sec));
     }
 
+    /**
+     * Called by the Fragment once its board is on screen - a new game, or the same one
+     * after a rotation or restore. Shows its moves and time and restarts the clock.
+     */
+    public void onGameShown() {
+        updateMoves(game.getMoves());
+        updateTimerDisplay();
+        if (game.isStarted()) startTimer();
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (game.isStarted()) startTimer();  // Coming back from the background
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Time in the background does not count; the game is saved in case the app is closed
+        stopTimer();
+        if (!isChangingConfigurations()) game.saveToDisk();
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
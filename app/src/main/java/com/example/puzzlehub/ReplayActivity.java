@@ -0,0 +1,231 @@
+package com.example.puzzlehub;
+
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.puzzlehub.adapter.MemoryCardAdapter;
+import com.example.puzzlehub.adapter.SlideTileAdapter;
+import com.example.puzzlehub.db.AppDatabase;
+import com.example.puzzlehub.db.ReplayEntity;
+import com.example.puzzlehub.engine.FastRandom;
+import com.example.puzzlehub.engine.MemoryDeck;
+import com.example.puzzlehub.engine.Replay;
+import com.example.puzzlehub.engine.SlidingBoard;
+import com.example.puzzlehub.fragment.BaseMemoryFragment;
+import com.example.puzzlehub.render.CardFaceAtlas;
+import com.google.android.material.button.MaterialButton;
+
+/**
+ * ReplayActivity - Plays back a saved game move by move.
+ *
+ * Opened from ScoreHistoryActivity with the score's id ("SCORE_ID"). The replay row is
+ * loaded through LiveData (Room reads it on a background thread), decoded with
+ * Replay.decode(), and drawn with the same adapters as the real games - the board
+ * starts at the recorded deal and the recorded moves are applied to it one by one.
+ *
+ * TIMING:
+ * Each move is shown after the same pause the player took, clamped between
+ * MIN_STEP_MS and MAX_STEP_MS so long thinking breaks don't stall the replay.
+ * A mismatched memory pair is turned back over right before the next flip, just as
+ * MemoryDeck required during the game.
+ */
+public class ReplayActivity extends AppCompatActivity {
+    private static final long START_DELAY_MS = 800;
+    private static final long MIN_STEP_MS = 150;
+    private static final long MAX_STEP_MS = 1500;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable stepRunnable = this::playStep;
+
+    private Replay replay;
+    private int step;           // Index of the next move to play
+    private boolean playing;
+
+    // Only one pair is used, depending on the game
+    private SlidingBoard board;
+    private SlideTileAdapter tileAdapter;
+    private MemoryDeck deck;
+    private MemoryCardAdapter cardAdapter;
+
+    private TextView tvProgress;
+    private TextView tvMessage;
+    private RecyclerView rvBoard;
+    private MaterialButton btnPlay;
+    private MaterialButton btnRestart;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_replay);
+
+        tvProgress = findViewById(R.id.tvReplayProgress);
+        tvMessage = findViewById(R.id.tvReplayMessage);
+        rvBoard = findViewById(R.id.rvReplayBoard);
+        btnPlay = findViewById(R.id.btnReplayPlay);
+        btnRestart = findViewById(R.id.btnReplayRestart);
+
+        btnPlay.setOnClickListener(v -> {
+            if (playing) {
+                pause();
+            } else if (step >= replay.getMoveCount()) {
+                restart();
+            } else {
+                play();
+            }
+        });
+        btnRestart.setOnClickListener(v -> restart());
+
+        int scoreId = getIntent().getIntExtra("SCORE_ID", -1);
+        AppDatabase.getInstance(this).replayDao().getReplay(scoreId).observe(this, entity -> {
+            // LiveData re-emits when the replays table changes; the first result is enough
+            if (replay == null) onReplayLoaded(entity);
+        });
+    }
+
+    private void onReplayLoaded(ReplayEntity entity) {
+        if (entity == null) {
+            showMessage(R.string.replay_missing);
+            return;
+        }
+        try {
+            replay = Replay.decode(entity.data);
+        } catch (IllegalArgumentException e) {
+            showMessage(R.string.replay_unreadable);
+            return;
+        }
+
+        if (replay.getGame() == Replay.GAME_SLIDE) {
+            board = new SlidingBoard(replay.getSize());
+            tileAdapter = new SlideTileAdapter(board);
+            rvBoard.setLayoutManager(new GridLayoutManager(this, replay.getSize()));
+            rvBoard.setAdapter(tileAdapter);
+        } else {
+            int cards = replay.getSize();
+            int gridSize = (int) Math.round(Math.sqrt(cards));
+            if (cards / 2 > BaseMemoryFragment.CARD_FRONTS.length + CardFaceAtlas.MAX_FACES) {
+                replay = null;
+                showMessage(R.string.replay_unreadable);
+                return;
+            }
+            deck = new MemoryDeck(cards, new FastRandom(1));
+            cardAdapter = new MemoryCardAdapter(deck, BaseMemoryFragment.CARD_FRONTS);
+            rvBoard.setLayoutManager(new GridLayoutManager(this, gridSize));
+            rvBoard.setAdapter(cardAdapter);
+            if (cards / 2 > BaseMemoryFragment.CARD_FRONTS.length) requestAtlas(gridSize);
+        }
+        btnPlay.setEnabled(true);
+        btnRestart.setEnabled(true);
+        restart();
+    }
+
+    /** Procedural faces for replays of boards larger than 6×6 (see CardFaceAtlas) */
+    private void requestAtlas(int gridSize) {
+        if (isDestroyed()) return;
+        CardFaceAtlas atlas = CardFaceAtlas.obtain(deck.getPairCount() - BaseMemoryFragment.CARD_FRONTS.length,
+                MemoryCardAdapter.cardHeightPx(this, gridSize), () -> requestAtlas(gridSize));
+        if (atlas != null) cardAdapter.setAtlas(atlas);
+    }
+
+    /** Puts the board back at the recorded start and plays from the first move */
+    private void restart() {
+        handler.removeCallbacks(stepRunnable);
+        step = 0;
+        int[] start = replay.getStart();
+        if (board != null) {
+            byte[] tiles = new byte[start.length];
+            for (int i = 0; i < start.length; i++) tiles[i] = (byte) start[i];
+            board.setTiles(tiles);
+            tileAdapter.updateTiles();
+        } else {
+            deck.deal(start);
+            cardAdapter.refreshAll();
+        }
+        updateProgress();
+        play();
+    }
+
+    private void play() {
+        playing = true;
+        btnPlay.setText(R.string.replay_pause);
+        scheduleNextStep();
+    }
+
+    private void pause() {
+        playing = false;
+        handler.removeCallbacks(stepRunnable);
+        btnPlay.setText(R.string.replay_play);
+    }
+
+    private void scheduleNextStep() {
+        if (step >= replay.getMoveCount()) {
+            pause();
+            return;
+        }
+        long delay = step == 0 ? START_DELAY_MS
+                : replay.getTimeMs(step) - replay.getTimeMs(step - 1);
+        handler.postDelayed(stepRunnable, Math.max(MIN_STEP_MS, Math.min(MAX_STEP_MS, delay)));
+    }
+
+    /** Applies the next recorded move; a move that doesn't fit the board ends playback */
+    private void playStep() {
+        boolean applied = board != null ? slideStep(replay.getMove(step)) : flipStep(replay.getMove(step));
+        if (!applied) {
+            pause();
+            return;
+        }
+        step++;
+        updateProgress();
+        scheduleNextStep();
+    }
+
+    private boolean slideStep(int direction) {
+        int emptyPos = board.getEmptyPos();
+        int tilePos = Replay.slideTile(emptyPos, direction, board.getSize());
+        if (tilePos < 0 || tilePos >= board.getCellCount() || !board.canMove(tilePos)) return false;
+        board.moveTile(tilePos);
+        tileAdapter.onTileMoved(tilePos, emptyPos);
+        return true;
+    }
+
+    private boolean flipStep(int card) {
+        if (deck.isWaitingForHide()) {
+            int first = deck.getFirstCard();
+            int second = deck.getSecondCard();
+            deck.hideMismatch();
+            cardAdapter.showFlip(first);
+            cardAdapter.showFlip(second);
+        }
+        int first = deck.getFirstCard();
+        int result = deck.flip(card);
+        if (result == MemoryDeck.FLIP_IGNORED) return false;
+        cardAdapter.showFlip(card);
+        if (result == MemoryDeck.FLIP_MATCH) {
+            cardAdapter.showMatch(first);
+            cardAdapter.showMatch(card);
+        }
+        return true;
+    }
+
+    private void updateProgress() {
+        tvProgress.setText(getString(R.string.replay_progress, step, replay.getMoveCount()));
+    }
+
+    private void showMessage(int messageRes) {
+        tvMessage.setText(messageRes);
+        tvMessage.setVisibility(View.VISIBLE);
+        rvBoard.setVisibility(View.GONE);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        handler.removeCallbacks(stepRunnable);
+    }
+}
@@ -2,17 +2,23 @@ package com.example.puzzlehub;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.util.Log;
+import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
-import com.example.puzzlehub.db.AppDatabase;
+import com.example.puzzlehub.db.DatabaseExecutors;
 import com.example.puzzlehub.db.ScoreEntity;
+import com.example.puzzlehub.db.ScoreWriter;
+import com.example.puzzlehub.engine.MemoryOdds;
+import com.example.puzzlehub.solver.DailyPar;
+import com.example.puzzlehub.solver.MemoryOddsAsset;
 import com.google.android.material.button.MaterialButton;
 
+import java.io.IOException;
 import java.util.Locale;
-import java.util.concurrent.Executors;
 
 /**
  * ResultActivity - Shows the game result after the player wins.
@@ -29,15 +35,28 @@ import java.util.concurrent.Executors;
  * Android "I want to send text" and Android shows a chooser with all apps
  * that can handle sending text (WhatsApp, Email, etc.).
  *
+ * DAILY CHALLENGE PAR:
+ * For a Daily Challenge ("DAILY_DAY" extra) the par cached by DailyPar is shown next to
+ * the moves. It was worked out in the background earlier, so it is just a lookup here.
+ *
+ * MEMORY GRADE:
+ * A Memory Match result is graded against the move distribution of simulated players
+ * for the same number of cards (MemoryOdds, simulated at build time). The small asset
+ * is read on a background thread the first time and kept for the rest of the process.
+ *
  * ROOM DATABASE:
- * The Save Score button saves the result to the local Room database
- * using a background thread (Executors) to avoid blocking the UI.
+ * The Save Score button queues the result on the app-wide ScoreWriter, which saves
+ * it to the local Room database on a background thread and reports back on the
+ * main thread.
  */
 public class ResultActivity extends AppCompatActivity {
+    private static final String TAG = "ResultActivity";
+
     private String gameType;
     private String difficulty;
     private int moves;
     private int timeSeconds;
+    private byte[] replay;  // Encoded Replay of the game, saved with the score (may be null)
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -49,6 +68,7 @@ public class ResultActivity extends AppCompatActivity {
         difficulty = getIntent().getStringExtra("DIFFICULTY");
         moves = getIntent().getIntExtra("MOVES", 0);
         timeSeconds = getIntent().getIntExtra("TIME_SECONDS", 0);
+        replay = getIntent().getByteArrayExtra("REPLAY");
 
         // Format the data for display
         String gameName = "MEMORY".equals(gameType) ? "Memory Match Cards" : "Sliding Number Puzzle";
@@ -66,6 +86,8 @@ public class ResultActivity extends AppCompatActivity {
         tvDifficulty.setText("Difficulty: " + difficulty);
         tvTime.setText("Time: " + timeStr);
         tvMovesResult.setText("Moves: " + moves);
+        showPar(getIntent().getLongExtra("DAILY_DAY", -1));
+        if ("MEMORY".equals(gameType)) showGrade(getIntent().getIntExtra("CARDS", 0));
 
         MaterialButton btnSaveScore = findViewById(R.id.btnSaveScore);
         MaterialButton btnShare = findViewById(R.id.btnShare);
@@ -73,17 +95,21 @@ public class ResultActivity extends AppCompatActivity {
         MaterialButton btnHome = findViewById(R.id.btnHome);
 
         // ROOM DATABASE: Save the score to the local database
-        // Database operations must run on a background thread (not the main UI thread)
+        // ScoreWriter does the insert on a background thread (not the main UI thread),
+        // together with the game's replay
         btnSaveScore.setOnClickListener(v -> {
+            // Disable right away so a double tap cannot save the score twice
+            btnSaveScore.setEnabled(false);
             ScoreEntity score = new ScoreEntity(gameType, difficulty, moves, timeSeconds, System.currentTimeMillis());
-            Executors.newSingleThreadExecutor().execute(() -> {
-                // Insert the score into Room database (runs on background thread)
-                AppDatabase.getInstance(this).scoreDao().insert(score);
-                // Show a toast message on the main thread
-                runOnUiThread(() -> {
+            ScoreWriter.getInstance(this).insert(score, replay, success -> {
+                // Called on the main thread; the screen may have been closed meanwhile
+                if (isDestroyed()) return;
+                if (success) {
                     Toast.makeText(this, R.string.saved, Toast.LENGTH_SHORT).show();
-                    btnSaveScore.setEnabled(false);
-                });
+                } else {
+                    Toast.makeText(this, R.string.save_failed, Toast.LENGTH_SHORT).show();
+                    btnSaveScore.setEnabled(true);
+                }
             });
         });
 
@@ -116,4 +142,43 @@ public class ResultActivity extends AppCompatActivity {
             finish();
         });
     }
+
+    /** Shows today's par (and how the player did against it) for a Daily Challenge */
+    private void showPar(long day) {
+        if (day < 0) return;
+        TextView tvPar = findViewById(R.id.tvPar);
+        int par = DailyPar.get(this, day, "SLIDE".equals(gameType));
+        if (par == DailyPar.UNKNOWN) {
+            tvPar.setText(R.string.daily_par_pending);
+        } else {
+            int diff = moves - par;
+            String versus = diff == 0 ? "even" : (diff > 0 ? "+" : "") + diff;
+            tvPar.setText(getString(R.string.daily_par, par, versus));
+        }
+        tvPar.setVisibility(View.VISIBLE);
+    }
+
+    /** Loads the simulated odds in the background, then shows the memory game's grade */
+    private void showGrade(int cards) {
+        DatabaseExecutors.IO.execute(() -> {
+            MemoryOdds odds;
+            try {
+                odds = MemoryOddsAsset.get(getApplicationContext());
+            } catch (IOException e) {
+                Log.w(TAG, "Memory odds unavailable, not grading", e);
+                return;
+            }
+            if (!odds.covers(cards)) return;
+            String text = getString(R.string.memory_grade,
+                    String.valueOf(odds.grade(cards, moves)),
+                    (int) Math.floor(odds.percentileRank(cards, moves) * 100),
+                    Math.round(odds.expectedMoves(cards)));
+            runOnUiThread(() -> {
+                if (isDestroyed()) return;
+                TextView tvGrade = findViewById(R.id.tvGrade);
+                tvGrade.setText(text);
+                tvGrade.setVisibility(View.VISIBLE);
+            });
+        });
+    }
 }
@@ -1,24 +1,28 @@
 package com.example.puzzlehub;
 
+import android.content.Intent;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.TextView;
+import android.widget.Toast;
 
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.puzzlehub.adapter.ScoreAdapter;
-import com.example.puzzlehub.db.AppDatabase;
-import com.example.puzzlehub.db.ScoreDao;
-import com.example.puzzlehub.db.ScoreEntity;
+import com.example.puzzlehub.db.ScoreBackup;
+import com.example.puzzlehub.db.ScoreWriter;
+import com.example.puzzlehub.viewmodel.ScoreHistoryViewModel;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.chip.Chip;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.Executors;
+import kotlin.Unit;
 
 /**
  * ScoreHistoryActivity - Displays saved game scores from the Room database.
@@ -27,32 +31,57 @@ import java.util.concurrent.Executors;
  * Uses a RecyclerView with LinearLayoutManager to show a scrollable list of scores.
  * The RecyclerView efficiently recycles item views as the user scrolls.
  *
- * ROOM DATABASE (LiveData):
- * Scores are loaded from the Room database using LiveData.
- * LiveData automatically updates the UI when the database data changes.
- * The observe() method watches for changes and updates the RecyclerView.
- * We observe getAllScores() ONCE and keep a local copy of all scores.
- * When the user filters by chip, we filter the local list - no extra observers needed.
+ * ROOM DATABASE (Paging + ViewModel):
+ * Scores are loaded from the Room database a page at a time. ScoreHistoryViewModel
+ * wraps a ScoreDao paging query in a Pager and emits PagingData through LiveData; the
+ * ViewModel survives rotation, so a rotated screen reuses the loaded pages. The adapter asks for
+ * the next page as the user scrolls. Only the loaded pages are kept in memory, so the
+ * screen opens just as fast with ten scores as with a hundred thousand.
+ * When the table changes, Room invalidates the source and the list reloads itself.
  *
  * FILTER CHIPS:
  * Material Design Chips allow filtering scores by game type (All, Memory, Slide).
+ * The filter is a query parameter, so SQLite does the filtering - each chip tap
+ * makes the ViewModel switchMap to a Pager for the new game type.
+ *
+ * SORT CHIPS (leaderboards):
+ * Newest, Fastest, Fewest Moves and Top 3 (the three fastest of every difficulty).
+ * Each sort has its own indexed ScoreDao query. The full lists are read in index order;
+ * Top 3 reads only the first three index entries of each difficulty, so no sort ever
+ * touches the whole table.
+ *
+ * BACKUP (Storage Access Framework):
+ * The Backup button lets the user export the scores (CSV or compact binary) or import a
+ * backup. The system file picker returns a content Uri, so the app needs no storage
+ * permission; the ViewModel streams the file on a background thread.
+ *
+ * REPLAYS:
+ * Tapping a score opens ReplayActivity, which plays back the moves saved with it.
  */
 public class ScoreHistoryActivity extends AppCompatActivity {
     private ScoreAdapter adapter;
-    private ScoreDao scoreDao;
     private TextView tvEmpty;
     private RecyclerView rvScores;
-    // Store all scores locally so we can filter without adding multiple LiveData observers
-    private List<ScoreEntity> allScores = new ArrayList<>();
-    private String currentFilter = null;  // null = show all, "MEMORY" or "SLIDE" = filtered
+    private ScoreHistoryViewModel viewModel;
+
+    // System file pickers: create a file to export into, or open one to import
+    private final ActivityResultLauncher<String> exportCsvLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument("text/csv"),
+            uri -> { if (uri != null) viewModel.exportScores(uri, ScoreBackup.FORMAT_CSV); });
+    private final ActivityResultLauncher<String> exportBinaryLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument("application/octet-stream"),
+            uri -> { if (uri != null) viewModel.exportScores(uri, ScoreBackup.FORMAT_BINARY); });
+    private final ActivityResultLauncher<String[]> importLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(),
+            uri -> { if (uri != null) viewModel.importScores(uri); });
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_score_history);
 
-        // Get the DAO (Data Access Object) from the Room database singleton
-        scoreDao = AppDatabase.getInstance(this).scoreDao();
+        // The ViewModel keeps the filter, sort and loaded pages across rotations
+        viewModel = new ViewModelProvider(this).get(ScoreHistoryViewModel.class);
 
         // Create the adapter for the RecyclerView
         adapter = new ScoreAdapter();
@@ -64,15 +93,60 @@ public class ScoreHistoryActivity extends AppCompatActivity {
         rvScores.setLayoutManager(new LinearLayoutManager(this));
         rvScores.setAdapter(adapter);
 
+        // Tap a score to watch its replay
+        adapter.setOnScoreClickListener(score -> {
+            Intent intent = new Intent(this, ReplayActivity.class);
+            intent.putExtra("SCORE_ID", score.id);
+            startActivity(intent);
+        });
+
         // Filter chips to show scores by game type
         Chip chipAll = findViewById(R.id.chipAll);
         Chip chipMemory = findViewById(R.id.chipMemory);
         Chip chipSlide = findViewById(R.id.chipSlide);
 
-        // Chips set the currentFilter and refresh the displayed list from local data
-        chipAll.setOnClickListener(v -> { currentFilter = null; applyFilter(); });
-        chipMemory.setOnClickListener(v -> { currentFilter = "MEMORY"; applyFilter(); });
-        chipSlide.setOnClickListener(v -> { currentFilter = "SLIDE"; applyFilter(); });
+        // Chips only change the ViewModel's query key; the database does the filtering
+        chipAll.setOnClickListener(v -> viewModel.setFilter(null));
+        chipMemory.setOnClickListener(v -> viewModel.setFilter("MEMORY"));
+        chipSlide.setOnClickListener(v -> viewModel.setFilter("SLIDE"));
+
+        // Sort chips keep the game filter and switch the query's order
+        Chip chipSortNewest = findViewById(R.id.chipSortNewest);
+        Chip chipSortFastest = findViewById(R.id.chipSortFastest);
+        Chip chipSortFewestMoves = findViewById(R.id.chipSortFewestMoves);
+        Chip chipSortTop = findViewById(R.id.chipSortTop);
+        chipSortNewest.setOnClickListener(v -> viewModel.setSort(ScoreHistoryViewModel.SORT_NEWEST));
+        chipSortFastest.setOnClickListener(v -> viewModel.setSort(ScoreHistoryViewModel.SORT_FASTEST));
+        chipSortFewestMoves.setOnClickListener(v -> viewModel.setSort(ScoreHistoryViewModel.SORT_FEWEST_MOVES));
+        chipSortTop.setOnClickListener(v -> viewModel.setSort(ScoreHistoryViewModel.SORT_TOP_PER_DIFFICULTY));
+
+        // Stats screen (games played, bests, averages, streaks)
+        MaterialButton btnStats = findViewById(R.id.btnStats);
+        btnStats.setOnClickListener(v -> startActivity(new Intent(this, StatsActivity.class)));
+
+        // Export or import scores through the system file picker
+        MaterialButton btnBackup = findViewById(R.id.btnBackup);
+        btnBackup.setOnClickListener(v -> {
+            String[] options = {getString(R.string.export_csv), getString(R.string.export_binary),
+                    getString(R.string.import_scores)};
+            new AlertDialog.Builder(this)
+                    .setTitle(R.string.backup_title)
+                    .setItems(options, (d, which) -> {
+                        if (which == 0) {
+                            exportCsvLauncher.launch("puzzle_hub_scores.csv");
+                        } else if (which == 1) {
+                            exportBinaryLauncher.launch("puzzle_hub_scores.phsc");
+                        } else {
+                            importLauncher.launch(new String[]{"text/*", "application/octet-stream"});
+                        }
+                    })
+                    .show();
+        });
+        viewModel.getBackupMessage().observe(this, message -> {
+            if (message == null) return;
+            Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+            viewModel.onBackupMessageShown();
+        });
 
         // Clear all scores with confirmation dialog
         MaterialButton btnClearAll = findViewById(R.id.btnClearAll);
@@ -81,38 +155,24 @@ public class ScoreHistoryActivity extends AppCompatActivity {
                     .setTitle("Clear All Scores")
                     .setMessage("Are you sure you want to delete all scores?")
                     .setPositiveButton("Yes", (d, w) -> {
-                        // Delete on background thread (database operations can't run on main thread)
-                        Executors.newSingleThreadExecutor().execute(() -> scoreDao.deleteAll());
+                        // Queued on the app-wide writer (database operations can't run on main thread);
+                        // the paged list refreshes itself when Room sees the table change
+                        ScoreWriter.getInstance(this).deleteAll(null);
                     })
                     .setNegativeButton("No", null)
                     .show();
         });
 
-        // Observe ALL scores ONCE - when data changes, update local copy and re-apply filter
-        scoreDao.getAllScores().observe(this, scores -> {
-            allScores = scores;
-            applyFilter();
+        // Show the empty message once the first page has loaded and there is nothing in it
+        adapter.addLoadStateListener(states -> {
+            if (states.getRefresh() instanceof LoadState.NotLoading) {
+                boolean empty = adapter.getItemCount() == 0;
+                tvEmpty.setVisibility(empty ? View.VISIBLE : View.GONE);
+                rvScores.setVisibility(empty ? View.GONE : View.VISIBLE);
+            }
+            return Unit.INSTANCE;
         });
-    }
 
-    /**
-     * Applies the current filter to the locally stored score list and updates the RecyclerView.
-     * This avoids adding multiple LiveData observers when chips are clicked.
-     */
-    private void applyFilter() {
-        List<ScoreEntity> filtered;
-        if (currentFilter == null) {
-            filtered = allScores;
-        } else {
-            filtered = new ArrayList<>();
-            for (ScoreEntity score : allScores) {
-                if (currentFilter.equals(score.gameType)) {
-                    filtered.add(score);
-                }
-            }
-        }
-        adapter.setScores(filtered);
-        tvEmpty.setVisibility(filtered.isEmpty() ? View.VISIBLE : View.GONE);
-        rvScores.setVisibility(filtered.isEmpty() ? View.GONE : View.VISIBLE);
+        viewModel.getScores().observe(this, pagingData -> adapter.submitData(getLifecycle(), pagingData));
     }
 }
@@ -7,11 +7,17 @@ import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 
+import com.example.puzzlehub.engine.MoveTable;
 import com.example.puzzlehub.fragment.BaseSlidingFragment;
 import com.example.puzzlehub.fragment.Slide3x3Fragment;
 import com.example.puzzlehub.fragment.Slide4x4Fragment;
+import com.example.puzzlehub.fragment.SlideNxNFragment;
+import com.example.puzzlehub.viewmodel.GameViewModel;
+import com.example.puzzlehub.viewmodel.SlidingGameViewModel;
 import com.google.android.material.button.MaterialButton;
+import com.google.android.material.progressindicator.LinearProgressIndicator;
 
 import java.util.Locale;
 
@@ -22,25 +28,44 @@ import java.util.Locale;
  * This Activity uses Fragments to display different puzzle boards.
  * - Slide3x3Fragment shows a 3×3 grid (8 numbered tiles)
  * - Slide4x4Fragment shows a 4×4 grid (15 numbered tiles)
+ * - SlideNxNFragment shows any larger grid, from 5×5 up to 10×10
  *
  * READING INTENT EXTRAS:
- * Reads "DIFFICULTY" from the Intent to decide which fragment to load.
+ * Reads "DIFFICULTY" ("3x3", "4x4", ... "10x10") from the Intent to decide which
+ * fragment to load.
  *
  * TIMER:
  * Uses a simple Handler to count elapsed seconds (same approach as MemoryMatchActivity).
+ * The seconds are kept in the game's ViewModel, so they survive a rotation. The clock
+ * pauses while the screen is in the background, and onStop() saves the game to disk
+ * so it can be resumed later (see GameViewModel).
+ *
+ * DISTANCE METER:
+ * The fragment reports the board's Manhattan distance after every move.
+ * The board tracks it incrementally, so the meter costs nothing extra per tap.
+ *
+ * HINT AND AUTO-SOLVE:
+ * Both buttons ask the fragment to run the solver on a background thread (optimal on
+ * 3×3 and 4×4, row-by-row reduction on larger boards).
+ * "Hint" highlights the next tile to move, "Auto-solve" plays the whole solution.
+ * The buttons are disabled while the solver is working.
  */
 public class SlidingPuzzleActivity extends AppCompatActivity {
     private TextView tvTimer;
     private TextView tvMoves;
+    private TextView tvDistance;
+    private LinearProgressIndicator progressDistance;
+    private MaterialButton btnHint;
+    private MaterialButton btnAutoSolve;
     private final Handler timerHandler = new Handler(Looper.getMainLooper());
-    private int elapsedSeconds = 0;
     private boolean timerRunning = false;
+    private SlidingGameViewModel game;  // The game in progress, including its elapsed seconds
 
     // Timer runnable - runs every second to update the display
     private final Runnable timerRunnable = new Runnable() {
         @Override
         public void run() {
-            elapsedSeconds++;
+            game.incrementElapsedSeconds();
             updateTimerDisplay();
             timerHandler.postDelayed(this, 1000);
         }
@@ -49,47 +74,103 @@ public class SlidingPuzzleActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        // Shared with the board fragment; survives rotation (see GameViewModel)
+        game = new ViewModelProvider(this).get(SlidingGameViewModel.class);
+        // Daily Challenge: the fragment's game uses the day's seeded board instead of a random one
+        game.setDailyDay(getIntent().getLongExtra("DAILY_DAY", GameViewModel.NO_DAILY));
         setContentView(R.layout.activity_sliding_puzzle);
 
         tvTimer = findViewById(R.id.tvTimer);
         tvMoves = findViewById(R.id.tvMoves);
+        tvDistance = findViewById(R.id.tvDistance);
+        progressDistance = findViewById(R.id.progressDistance);
         MaterialButton btnRestart = findViewById(R.id.btnRestart);
+        btnHint = findViewById(R.id.btnHint);
+        btnAutoSolve = findViewById(R.id.btnAutoSolve);
 
         // READING INTENT EXTRAS: Get difficulty passed from GameHubActivity
         String difficulty = getIntent().getStringExtra("DIFFICULTY");
 
-        // Choose the correct Fragment based on difficulty
-        Fragment fragment;
-        if ("4x4".equals(difficulty)) {
-            fragment = Slide4x4Fragment.newInstance();
-        } else {
-            fragment = Slide3x3Fragment.newInstance();
+        // FRAGMENT TRANSACTION: Load the fragment for the difficulty into the container.
+        // After a rotation (or process death) the FragmentManager restores the fragment
+        // by itself - adding another one would throw the game away.
+        if (savedInstanceState == null) {
+            int size = parseGridSize(difficulty);
+            Fragment fragment;
+            if (size == 4) {
+                fragment = Slide4x4Fragment.newInstance();
+            } else if (size > 4) {
+                fragment = SlideNxNFragment.newInstance(size);
+            } else {
+                fragment = Slide3x3Fragment.newInstance();
+            }
+            getSupportFragmentManager().beginTransaction()
+                    .replace(R.id.fragmentContainer, fragment)
+                    .commit();
         }
 
-        // FRAGMENT TRANSACTION: Load the fragment into the container
-        getSupportFragmentManager().beginTransaction()
-                .replace(R.id.fragmentContainer, fragment)
-                .commit();
-
         // Restart button handler
         btnRestart.setOnClickListener(v -> {
             stopTimer();
-            elapsedSeconds = 0;
-            updateTimerDisplay();
-            tvMoves.setText("Moves: 0");
 
             Fragment currentFragment = getSupportFragmentManager().findFragmentById(R.id.fragmentContainer);
             if (currentFragment instanceof BaseSlidingFragment) {
                 ((BaseSlidingFragment) currentFragment).resetGame();
             }
+            updateTimerDisplay();
+            updateMoves(0);
+        });
+
+        // Solver buttons forward to the current fragment, just like Restart
+        btnHint.setOnClickListener(v -> {
+            Fragment currentFragment = getSupportFragmentManager().findFragmentById(R.id.fragmentContainer);
+            if (currentFragment instanceof BaseSlidingFragment) {
+                ((BaseSlidingFragment) currentFragment).showHint();
+            }
+        });
+        btnAutoSolve.setOnClickListener(v -> {
+            Fragment currentFragment = getSupportFragmentManager().findFragmentById(R.id.fragmentContainer);
+            if (currentFragment instanceof BaseSlidingFragment) {
+                ((BaseSlidingFragment) currentFragment).autoSolve();
+            }
         });
     }
 
+    /** Reads the grid size from a difficulty like "5x5" (falls back to 3 for anything else) */
+    private static int parseGridSize(String difficulty) {
+        if (difficulty != null) {
+            int x = difficulty.indexOf('x');
+            try {
+                int size = Integer.parseInt(x > 0 ? difficulty.substring(0, x) : difficulty);
+                if (size >= MoveTable.MIN_SIZE && size <= MoveTable.MAX_SIZE) return size;
+            } catch (NumberFormatException e) {
+                // Unknown difficulty - use the default board
+            }
+        }
+        return MoveTable.MIN_SIZE;
+    }
+
+    /** Called by the Fragment while the solver runs (or auto-solve plays) to lock the buttons */
+    public void setSolverBusy(boolean busy) {
+        btnHint.setEnabled(!busy);
+        btnAutoSolve.setEnabled(!busy);
+    }
+
     /** Called by the Fragment to update the move counter display */
     public void updateMoves(int moves) {
         tvMoves.setText(String.format(Locale.US, "Moves: %d", moves));
     }
 
+    /**
+     * Called by the Fragment to update the "distance to solved" meter.
+     * The bar fills up as the distance shrinks from its value right after shuffling.
+     */
+    public void updateDistance(int distance, int startDistance) {
+        tvDistance.setText(String.format(Locale.US, "Distance to solved: %d", distance));
+        progressDistance.setMax(startDistance);
+        progressDistance.setProgress(Math.max(0, startDistance - distance));
+    }
+
     /** Starts the timer on the first move */
     public void startTimer() {
         if (!timerRunning) {
@@ -102,15 +183,40 @@ public class SlidingPuzzleActivity extends AppCompatActivity {
     public int stopTimer() {
         timerRunning = false;
         timerHandler.removeCallbacks(timerRunnable);
-        return elapsedSeconds;
+        return game.getElapsedSeconds();
     }
 
     private void updateTimerDisplay() {
-        int min = elapsedSeconds / 60;
-        int sec = elapsedSeconds % 60;
+        int seconds = game.getElapsedSeconds();
+        int min = seconds / 60;
+        int sec = seconds % 60;
         tvTimer.setText(String.format(Locale.US, "Time: %02d:%02d", min, sec));
     }
 
+    /**
+     * Called by the Fragment once its board is on screen - a new game, or the same one
+     * after a rotation or restore. Shows its moves and time and restarts the clock.
+     */
+    public void onGameShown() {
+        updateMoves(game.getMoves());
+        updateTimerDisplay();
+        if (game.isStarted()) startTimer();
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (game.isStarted()) startTimer();  // Coming back from the background
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Time in the background does not count; the game is saved in case the app is closed
+        stopTimer();
+        if (!isChangingConfigurations()) game.saveToDisk();
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
@@ -0,0 +1,42 @@
+package com.example.puzzlehub;
+
+import android.os.Bundle;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.puzzlehub.adapter.StatsAdapter;
+import com.example.puzzlehub.db.AppDatabase;
+import com.example.puzzlehub.db.ScoreStatsEntity;
+
+/**
+ * StatsActivity - Per-game, per-difficulty statistics.
+ *
+ * O(1) STATS:
+ * Games played, bests, averages and streaks are not calculated here. SQLite triggers
+ * update the score_stats table whenever a score is saved or deleted, so this screen
+ * only reads one small row per difficulty - just as fast with a huge score history.
+ */
+public class StatsActivity extends AppCompatActivity {
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_stats);
+
+        StatsAdapter adapter = new StatsAdapter(ScoreStatsEntity.localDay(System.currentTimeMillis()));
+        RecyclerView rvStats = findViewById(R.id.rvStats);
+        TextView tvEmpty = findViewById(R.id.tvStatsEmpty);
+        rvStats.setLayoutManager(new LinearLayoutManager(this));
+        rvStats.setAdapter(adapter);
+
+        // LiveData re-emits whenever the triggers change score_stats
+        AppDatabase.getInstance(this).scoreStatsDao().getAllStats().observe(this, stats -> {
+            adapter.submitList(stats);
+            tvEmpty.setVisibility(stats.isEmpty() ? View.VISIBLE : View.GONE);
+            rvStats.setVisibility(stats.isEmpty() ? View.GONE : View.VISIBLE);
+        });
+    }
+}
@@ -1,15 +1,20 @@
 package com.example.puzzlehub.adapter;
 
+import android.content.Context;
+import android.graphics.Bitmap;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.cardview.widget.CardView;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.puzzlehub.R;
+import com.example.puzzlehub.engine.MemoryDeck;
+import com.example.puzzlehub.render.CardFaceAtlas;
 
 import java.util.List;
 
@@ -27,15 +32,45 @@ import java.util.List;
  * its view is reused for a new card. This saves memory and is efficient.
  *
  * CARD STATES:
+ * The adapter only draws the MemoryDeck (the game logic lives in the engine module).
  * Each card can be in one of three states:
  * - Face down (showing card_back drawable)
  * - Flipped (showing card_front drawable)
  * - Matched (showing card_front with green background and reduced opacity)
+ *
+ * PARTIAL BINDS WITH PAYLOADS:
+ * A flip only changes the image and a match only changes background and opacity.
+ * showFlip()/showMatch() pass a payload with notifyItemChanged(), and the payload
+ * version of onBindViewHolder() updates just that property instead of the whole card.
+ *
+ * LARGE BOARDS:
+ * Pair ids beyond the hand-drawn vectors are shown from a CardFaceAtlas (procedural
+ * faces in one shared bitmap). Each ViewHolder owns one FaceDrawable and only points
+ * it at another atlas cell when rebound. Boards larger than FULL_SIZE_GRID get
+ * proportionally smaller cards, so an 8×8 or 10×10 board fits on the screen.
+ *
+ * RASTERIZED CARD IMAGES:
+ * Once the fragment hands over the card images from CardBitmapCache (drawn once at
+ * the card's size, on a background thread), binds show those shared bitmaps instead
+ * of calling setImageResource() on the vector drawables. Until then - the first few
+ * milliseconds of a game - the vectors are used directly.
  */
 public class MemoryCardAdapter extends RecyclerView.Adapter<MemoryCardAdapter.CardViewHolder> {
-    private final List<Integer> cardFronts;  // List of drawable resource IDs for card fronts
-    private final boolean[] flipped;          // Tracks which cards are flipped face up
-    private final boolean[] matched;          // Tracks which cards have been matched
+    // Typed payloads for partial binds (compared by identity, never allocated per call)
+    private static final Object PAYLOAD_FLIP = new Object();
+    private static final Object PAYLOAD_MATCH = new Object();
+
+    private static final int CARD_COLOR = 0xFFFFFFFF;
+    private static final int MATCHED_COLOR = 0xFFA5D6A7;  // Soft green
+    private static final int FULL_SIZE_GRID = 6;     // Largest grid drawn with full-size cards
+    private static final int CARD_HEIGHT_DP = 64;    // Image height in item_memory_card.xml
+    private static final int CARD_PADDING_DP = 4;    // Padding around the card in item_memory_card.xml
+
+    private final MemoryDeck deck;        // Card faces and face-up/matched state (owned by the Fragment)
+    private final int[] faceDrawables;    // faceDrawables[pair id] = drawable resource ID
+    private CardFaceAtlas atlas;          // Faces of pair ids >= faceDrawables.length (may be null)
+    private Bitmap[] faceBitmaps;         // Rasterized faceDrawables (may be null or shorter)
+    private Bitmap backBitmap;            // Rasterized card_back (may be null)
 
     // Listener interface for card click events (callback pattern)
     private OnCardClickListener listener;
@@ -45,59 +80,88 @@ public class MemoryCardAdapter extends RecyclerView.Adapter<MemoryCardAdapter.Ca
         void onCardClick(int position);
     }
 
-    public MemoryCardAdapter(List<Integer> cardFronts) {
-        this.cardFronts = cardFronts;
-        this.flipped = new boolean[cardFronts.size()];
-        this.matched = new boolean[cardFronts.size()];
+    public MemoryCardAdapter(MemoryDeck deck, int[] faceDrawables) {
+        this.deck = deck;
+        this.faceDrawables = faceDrawables;
     }
 
     public void setOnCardClickListener(OnCardClickListener listener) {
         this.listener = listener;
     }
 
-    /** Flips a card face up or face down */
-    public void flipCard(int position, boolean show) {
-        flipped[position] = show;
-        notifyItemChanged(position);  // Tells RecyclerView to redraw this item
+    /** Procedural faces for decks with more pairs than faceDrawables; redraws every card */
+    public void setAtlas(@Nullable CardFaceAtlas atlas) {
+        this.atlas = atlas;
+        refreshAll();
+    }
+
+    /**
+     * Rasterized images to show instead of the vector drawables: faces[i] for
+     * faceDrawables[i] (only the pair ids in use are needed) and the card back.
+     * Redraws every card.
+     */
+    public void setCardBitmaps(@NonNull Bitmap[] faces, @NonNull Bitmap back) {
+        this.faceBitmaps = faces;
+        this.backBitmap = back;
+        refreshAll();
     }
 
-    /** Marks a card as matched (it stays face up with green background) */
-    public void setMatched(int position) {
-        matched[position] = true;
-        notifyItemChanged(position);
+    /** Largest image in pixels that fits a card on a board boardWidthPx wide */
+    public static int cardImageMaxPx(Context context, int gridSize, int boardWidthPx) {
+        float scale = gridSize > FULL_SIZE_GRID ? (float) FULL_SIZE_GRID / gridSize : 1f;
+        int padding = Math.round(2 * CARD_PADDING_DP * scale * context.getResources().getDisplayMetrics().density);
+        return Math.max(1, Math.min(cardHeightPx(context, gridSize), boardWidthPx / gridSize - padding));
     }
 
-    public boolean isFlipped(int position) {
-        return flipped[position];
+    /** Height in pixels of a card image on a gridSize×gridSize board */
+    public static int cardHeightPx(Context context, int gridSize) {
+        float scale = gridSize > FULL_SIZE_GRID ? (float) FULL_SIZE_GRID / gridSize : 1f;
+        return Math.round(CARD_HEIGHT_DP * scale * context.getResources().getDisplayMetrics().density);
     }
 
-    public boolean isMatched(int position) {
-        return matched[position];
+    /** Shows the card's face-up/face-down side after the deck flipped it (image only) */
+    public void showFlip(int position) {
+        notifyItemChanged(position, PAYLOAD_FLIP);
     }
 
-    public int getCardFront(int position) {
-        return cardFronts.get(position);
+    /** Shows the card as matched after the deck paired it (background and opacity only) */
+    public void showMatch(int position) {
+        notifyItemChanged(position, PAYLOAD_MATCH);
     }
 
-    /** Resets all cards to face down and unmatched */
-    public void resetAll() {
-        for (int i = 0; i < flipped.length; i++) {
-            flipped[i] = false;
-            matched[i] = false;
-        }
+    /** Redraws every card, e.g. after the deck was dealt again */
+    public void refreshAll() {
         notifyDataSetChanged();  // Tells RecyclerView to redraw all items
     }
 
     /**
      * onCreateViewHolder - Called when RecyclerView needs a new view.
      * Inflates the item_memory_card.xml layout and wraps it in a ViewHolder.
+     * The click listener is created here, once per ViewHolder, not on every bind.
      */
     @NonNull
     @Override
     public CardViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_memory_card, parent, false);
-        return new CardViewHolder(view);
+        CardViewHolder holder = new CardViewHolder(view);
+
+        // Only allow clicking on cards that are not flipped and not matched
+        holder.itemView.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (listener != null && position != RecyclerView.NO_POSITION
+                    && !deck.isFaceUp(position) && !deck.isMatched(position)) {
+                listener.onCardClick(position);
+            }
+        });
+        int gridSize = (int) Math.round(Math.sqrt(deck.getCardCount()));
+        if (gridSize > FULL_SIZE_GRID) {
+            // Shrink the card in proportion, e.g. to 60% on a 10×10 board
+            holder.ivCard.getLayoutParams().height = cardHeightPx(parent.getContext(), gridSize);
+            int padding = Math.round(view.getPaddingTop() * (float) FULL_SIZE_GRID / gridSize);
+            view.setPadding(padding, padding, padding, padding);
+        }
+        return holder;
     }
 
     /**
@@ -106,35 +170,71 @@ public class MemoryCardAdapter extends RecyclerView.Adapter<MemoryCardAdapter.Ca
      */
     @Override
     public void onBindViewHolder(@NonNull CardViewHolder holder, int position) {
-        if (matched[position]) {
-            // Card is matched: show front with soft green background
-            holder.ivCard.setImageResource(cardFronts.get(position));
-            holder.cardView.setCardBackgroundColor(0xFFA5D6A7);  // Soft green
+        bindImage(holder, position);
+        bindMatchState(holder, position);
+    }
+
+    /**
+     * Partial bind: with payloads only the changed property is updated.
+     * Indexed loop instead of for-each, so no Iterator is allocated per bind.
+     */
+    @Override
+    public void onBindViewHolder(@NonNull CardViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        for (int i = 0; i < payloads.size(); i++) {
+            Object payload = payloads.get(i);
+            if (payload == PAYLOAD_FLIP) {
+                bindImage(holder, position);
+            } else if (payload == PAYLOAD_MATCH) {
+                bindMatchState(holder, position);
+            } else {
+                onBindViewHolder(holder, position);
+            }
+        }
+    }
+
+    /** Front image for face-up (and matched) cards, card back otherwise */
+    private void bindImage(CardViewHolder holder, int position) {
+        if (!deck.isFaceUp(position) && !deck.isMatched(position)) {
+            if (backBitmap != null) {
+                holder.ivCard.setImageBitmap(backBitmap);
+            } else {
+                holder.ivCard.setImageResource(R.drawable.card_back);
+            }
+            return;
+        }
+        int face = deck.getFace(position);
+        if (faceBitmaps != null && face < faceBitmaps.length) {
+            holder.ivCard.setImageBitmap(faceBitmaps[face]);  // Shared; the ImageView reuses its drawable
+        } else if (face < faceDrawables.length) {
+            holder.ivCard.setImageResource(faceDrawables[face]);
+        } else if (atlas != null) {
+            holder.faceDrawable.setFace(atlas, face - faceDrawables.length);
+            holder.ivCard.setImageDrawable(holder.faceDrawable);
+        } else {
+            holder.ivCard.setImageDrawable(null);  // Atlas still rendering; setAtlas() redraws
+        }
+    }
+
+    /** Matched cards get a soft green background and reduced opacity, others plain white */
+    private void bindMatchState(CardViewHolder holder, int position) {
+        if (deck.isMatched(position)) {
+            holder.cardView.setCardBackgroundColor(MATCHED_COLOR);
             holder.cardView.setAlpha(0.7f);
-        } else if (flipped[position]) {
-            // Card is flipped: show front with white background
-            holder.ivCard.setImageResource(cardFronts.get(position));
-            holder.cardView.setCardBackgroundColor(0xFFFFFFFF);
-            holder.cardView.setAlpha(1f);
         } else {
-            // Card is face down: show card back
-            holder.ivCard.setImageResource(R.drawable.card_back);
-            holder.cardView.setCardBackgroundColor(0xFFFFFFFF);
+            holder.cardView.setCardBackgroundColor(CARD_COLOR);
             holder.cardView.setAlpha(1f);
         }
-
-        // Only allow clicking on cards that are not flipped and not matched
-        holder.itemView.setOnClickListener(v -> {
-            if (listener != null && !flipped[position] && !matched[position]) {
-                listener.onCardClick(position);
-            }
-        });
     }
 
     /** Returns the total number of cards */
     @Override
     public int getItemCount() {
-        return cardFronts.size();
+        return deck.getCardCount();
     }
 
     /**
@@ -144,6 +244,7 @@ public class MemoryCardAdapter extends RecyclerView.Adapter<MemoryCardAdapter.Ca
     static class CardViewHolder extends RecyclerView.ViewHolder {
         ImageView ivCard;
         CardView cardView;
+        final CardFaceAtlas.FaceDrawable faceDrawable = new CardFaceAtlas.FaceDrawable();
 
         CardViewHolder(@NonNull View itemView) {
             super(itemView);
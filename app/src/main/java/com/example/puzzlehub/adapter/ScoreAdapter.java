@@ -1,38 +1,87 @@
 package com.example.puzzlehub.adapter;
 
+import android.util.LruCache;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.puzzlehub.R;
 import com.example.puzzlehub.db.ScoreEntity;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * ScoreAdapter - RecyclerView Adapter for displaying score history.
  *
  * HOW THIS ADAPTER WORKS:
- * - Displays a list of ScoreEntity objects from the Room database
+ * - Displays pages of ScoreEntity objects from the Room database
  * - Each item shows: game name, difficulty, time, moves, and date
- * - setScores() is called when new data arrives from the database
- * - notifyDataSetChanged() tells RecyclerView to refresh the display
+ * - submitData() is called with the PagingData stream of a ScoreDao paging query
+ *
+ * PAGING + BACKGROUND DIFFING (PagingDataAdapter):
+ * The adapter only ever holds the pages loaded so far; more are requested as the user
+ * scrolls towards the end. When the table changes, the new pages are compared with the
+ * old ones on a background thread (DiffUtil, keyed by ScoreEntity.id) and only the
+ * real insertions, removals and moves are posted, so a new score does not rebind
+ * every visible row.
+ *
+ * CACHED TEXT:
+ * A saved score never changes, so its display strings are built once, on the first
+ * bind, and kept in an LruCache keyed by id. Scrolling back over a row is just five
+ * setText() calls - no date formatting or String.format on the main thread.
+ *
+ * ROW CLICKS:
+ * Tapping a row reports the score's id (ScoreHistoryActivity opens its replay). Like the
+ * game adapters, the click listener is installed once per ViewHolder.
  */
-public class ScoreAdapter extends RecyclerView.Adapter<ScoreAdapter.ScoreViewHolder> {
-    private List<ScoreEntity> scores = new ArrayList<>();
+public class ScoreAdapter extends PagingDataAdapter<ScoreEntity, ScoreAdapter.ScoreViewHolder> {
+    // Enough rows for several screens of scrolling in both directions
+    private static final int TEXT_CACHE_SIZE = 512;
+
+    /** DiffUtil callback - rows are the same score if the ids match */
+    public static final DiffUtil.ItemCallback<ScoreEntity> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<ScoreEntity>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull ScoreEntity oldItem, @NonNull ScoreEntity newItem) {
+                    return oldItem.id == newItem.id;
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull ScoreEntity oldItem, @NonNull ScoreEntity newItem) {
+                    return oldItem.moves == newItem.moves
+                            && oldItem.timeSeconds == newItem.timeSeconds
+                            && oldItem.dateMillis == newItem.dateMillis
+                            && Objects.equals(oldItem.gameType, newItem.gameType)
+                            && Objects.equals(oldItem.difficulty, newItem.difficulty);
+                }
+            };
+
+    // One formatter for the whole list (binding only happens on the main thread)
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.US);
+    private final Date scratchDate = new Date();  // Reused for every format() call
+    private final LruCache<Integer, ScoreText> textCache = new LruCache<>(TEXT_CACHE_SIZE);
+    private OnScoreClickListener listener;
+
+    /** Interface for handling taps on a score row */
+    public interface OnScoreClickListener {
+        void onScoreClick(ScoreEntity score);
+    }
+
+    public ScoreAdapter() {
+        super(DIFF_CALLBACK);
+    }
 
-    /** Updates the list of scores and refreshes the display */
-    public void setScores(List<ScoreEntity> scores) {
-        this.scores = scores;
-        notifyDataSetChanged();
+    public void setOnScoreClickListener(OnScoreClickListener listener) {
+        this.listener = listener;
     }
 
     @NonNull
@@ -40,32 +89,61 @@ public class ScoreAdapter extends RecyclerView.Adapter<ScoreAdapter.ScoreViewHol
     public ScoreViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_score, parent, false);
-        return new ScoreViewHolder(view);
+        ScoreViewHolder holder = new ScoreViewHolder(view);
+        holder.itemView.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (listener == null || position == RecyclerView.NO_POSITION) return;
+            ScoreEntity score = getItem(position);
+            if (score != null) listener.onScoreClick(score);
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull ScoreViewHolder holder, int position) {
-        ScoreEntity score = scores.get(position);
-
-        // Convert game type code to friendly name
-        String gameName = "MEMORY".equals(score.gameType) ? "Memory Match" : "Sliding Puzzle";
-        holder.tvScoreGame.setText(gameName);
-        holder.tvScoreDifficulty.setText(score.difficulty);
-
-        // Format time as MM:SS
-        int min = score.timeSeconds / 60;
-        int sec = score.timeSeconds % 60;
-        holder.tvScoreTime.setText(String.format(Locale.US, "%02d:%02d", min, sec));
-        holder.tvScoreMoves.setText(score.moves + " moves");
-
-        // Format the date from milliseconds to readable string
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.US);
-        holder.tvScoreDate.setText(sdf.format(new Date(score.dateMillis)));
+        ScoreEntity score = getItem(position);
+        if (score == null) return;  // Placeholders are disabled, but getItem() is @Nullable
+        ScoreText text = textFor(score);
+        holder.tvScoreGame.setText(text.game);
+        holder.tvScoreDifficulty.setText(text.difficulty);
+        holder.tvScoreTime.setText(text.time);
+        holder.tvScoreMoves.setText(text.moves);
+        holder.tvScoreDate.setText(text.date);
     }
 
-    @Override
-    public int getItemCount() {
-        return scores.size();
+    /** Returns the cached display strings of a score, formatting them on first use */
+    private ScoreText textFor(ScoreEntity score) {
+        ScoreText text = textCache.get(score.id);
+        if (text == null) {
+            text = new ScoreText(score);
+            textCache.put(score.id, text);
+        }
+        return text;
+    }
+
+    /** Display strings of one score, formatted once */
+    private final class ScoreText {
+        final String game;
+        final String difficulty;
+        final String time;
+        final String moves;
+        final String date;
+
+        ScoreText(ScoreEntity score) {
+            // Convert game type code to friendly name
+            game = "MEMORY".equals(score.gameType) ? "Memory Match" : "Sliding Puzzle";
+            difficulty = score.difficulty;
+
+            // Format time as MM:SS
+            int min = score.timeSeconds / 60;
+            int sec = score.timeSeconds % 60;
+            time = (min < 10 ? "0" : "") + min + (sec < 10 ? ":0" : ":") + sec;
+            moves = score.moves + " moves";
+
+            // Format the date from milliseconds to readable string
+            scratchDate.setTime(score.dateMillis);
+            date = dateFormat.format(scratchDate);
+        }
     }
 
     /** ViewHolder holds references to all TextViews in item_score.xml */
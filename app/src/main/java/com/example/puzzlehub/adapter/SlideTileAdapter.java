@@ -1,5 +1,6 @@
 package com.example.puzzlehub.adapter;
 
+import android.util.TypedValue;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,8 +10,8 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.puzzlehub.R;
-
-import java.util.List;
+import com.example.puzzlehub.engine.SlidingBoard;
+import com.example.puzzlehub.render.SlidingBoardRenderer;
 
 /**
  * SlideTileAdapter - RecyclerView Adapter for the Sliding Number Puzzle.
@@ -19,44 +20,116 @@ import java.util.List;
  * - Each tile is an item in the RecyclerView grid
  * - The tile with value 0 is the "empty" space (displayed as blank)
  * - All other tiles show their number and are clickable
- * - When the data changes (after a move), updateTiles() refreshes the display
+ * - Tile values are read straight from the compact SlidingBoard (no List copy)
+ * - On boards larger than 4×4 tiles and numbers are scaled down so the grid fits
+ * - setHintPosition() highlights the tile the solver suggests moving next
+ *
+ * TARGETED UPDATES AND SLIDE ANIMATIONS:
+ * Every item has a STABLE ID: its tile value (0 for the empty cell). A move only swaps
+ * two cells, so onTileMoved() reports it as notifyItemMoved() events instead of
+ * redrawing the whole board. RecyclerView then slides the tile's existing view to its
+ * new cell, and nothing is rebound - the view already shows the right number.
+ * - Horizontal move: the two cells are neighbors in the list, one move swaps them
+ * - Vertical move: the cells are N apart, so the tile is moved to the empty cell's
+ *   index (shifting the cells in between by one) and the empty cell is moved back
+ *   to where the tile was (shifting them back)
+ * updateTiles() (full refresh) is only used when the whole board changes.
  *
- * Uses GridLayoutManager (set in the Fragment) to display tiles in a grid.
+ * The click listener is installed once per ViewHolder and looks up the holder's
+ * current position when tapped, so binding never allocates a new listener.
+ *
+ * Uses GridLayoutManager (set in the Fragment) to display tiles in a grid. Boards
+ * larger than 4×4 use SlidingBoardView instead (see SlidingBoardRenderer).
  */
-public class SlideTileAdapter extends RecyclerView.Adapter<SlideTileAdapter.TileViewHolder> {
-    private List<Integer> tiles;  // List of tile values (0 = empty)
-    private OnTileClickListener listener;
+public class SlideTileAdapter extends RecyclerView.Adapter<SlideTileAdapter.TileViewHolder>
+        implements SlidingBoardRenderer {
+    private static final int FULL_SIZE_GRID = 4;  // Largest grid drawn with full-size tiles
 
-    /** Interface for handling tile click events */
-    public interface OnTileClickListener {
-        void onTileClick(int position);
-    }
+    private final SlidingBoard board;  // Shared board owned by the Fragment (0 = empty)
+    private OnTileClickListener listener;
+    private int hintPosition = RecyclerView.NO_POSITION;  // Tile highlighted by the Hint button
 
-    public SlideTileAdapter(List<Integer> tiles) {
-        this.tiles = tiles;
+    public SlideTileAdapter(SlidingBoard board) {
+        this.board = board;
+        setHasStableIds(true);
     }
 
+    @Override
     public void setOnTileClickListener(OnTileClickListener listener) {
         this.listener = listener;
     }
 
-    /** Updates the tile data and refreshes the display */
-    public void updateTiles(List<Integer> tiles) {
-        this.tiles = tiles;
+    /** Refreshes the whole display after the board was replaced (new game, restart) */
+    @Override
+    public void updateTiles() {
         notifyDataSetChanged();
     }
 
+    /**
+     * Reports one move to RecyclerView: the tile that was at "from" is now in the
+     * cell "to" (the old empty cell), and the empty cell is at "from".
+     * Call this after SlidingBoard.moveTile(from).
+     */
+    @Override
+    public void onTileMoved(int from, int to) {
+        if (Math.abs(from - to) == 1) {
+            // Neighbors in the list: a single move swaps them
+            notifyItemMoved(from, to);
+        } else if (from < to) {
+            // Tile moves down: cells from+1..to shift up, so the empty cell lands on to-1
+            notifyItemMoved(from, to);
+            notifyItemMoved(to - 1, from);
+        } else {
+            // Tile moves up: cells to..from-1 shift down, so the empty cell lands on to+1
+            notifyItemMoved(from, to);
+            notifyItemMoved(to + 1, from);
+        }
+    }
+
+    /** Stable ID = tile value, so RecyclerView can follow each tile as it moves */
+    @Override
+    public long getItemId(int position) {
+        return board.tileAt(position);
+    }
+
+    /** Highlights one tile as the suggested next move (NO_POSITION clears the hint) */
+    @Override
+    public void setHintPosition(int position) {
+        int old = hintPosition;
+        hintPosition = position;
+        if (old != RecyclerView.NO_POSITION) notifyItemChanged(old);
+        if (position != RecyclerView.NO_POSITION) notifyItemChanged(position);
+    }
+
     @NonNull
     @Override
     public TileViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(parent.getContext())
                 .inflate(R.layout.item_slide_tile, parent, false);
-        return new TileViewHolder(view);
+        TileViewHolder holder = new TileViewHolder(view);
+
+        // One listener per ViewHolder: it reads the holder's current position on tap
+        holder.itemView.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            // Only numbered tiles (not empty) are clickable
+            if (listener != null && position != RecyclerView.NO_POSITION
+                    && board.tileAt(position) != 0) {
+                listener.onTileClick(position);
+            }
+        });
+        if (board.getSize() > FULL_SIZE_GRID) {
+            // Shrink tile height and text in proportion, e.g. to 40% on a 10×10 board
+            float scale = (float) FULL_SIZE_GRID / board.getSize();
+            holder.tvTile.getLayoutParams().height =
+                    Math.round(holder.tvTile.getLayoutParams().height * scale);
+            holder.tvTile.setTextSize(TypedValue.COMPLEX_UNIT_PX, holder.tvTile.getTextSize() * scale);
+        }
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull TileViewHolder holder, int position) {
-        int value = tiles.get(position);
+        int value = board.tileAt(position);
         if (value == 0) {
             // Empty tile: show blank with transparent background
             holder.tvTile.setText("");
@@ -64,20 +137,14 @@ public class SlideTileAdapter extends RecyclerView.Adapter<SlideTileAdapter.Tile
         } else {
             // Numbered tile: show the number with colored background
             holder.tvTile.setText(String.valueOf(value));
-            holder.tvTile.setBackgroundResource(R.drawable.rounded_button);
+            holder.tvTile.setBackgroundResource(position == hintPosition
+                    ? R.drawable.rounded_tile_hint : R.drawable.rounded_button);
         }
-
-        // Only numbered tiles (not empty) are clickable
-        holder.itemView.setOnClickListener(v -> {
-            if (listener != null && value != 0) {
-                listener.onTileClick(position);
-            }
-        });
     }
 
     @Override
     public int getItemCount() {
-        return tiles.size();
+        return board.getCellCount();
     }
 
     /** ViewHolder holds the TextView for each tile */
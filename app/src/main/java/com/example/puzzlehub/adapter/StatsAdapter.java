@@ -0,0 +1,95 @@
+package com.example.puzzlehub.adapter;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.puzzlehub.R;
+import com.example.puzzlehub.db.ScoreStatsEntity;
+
+import java.util.Locale;
+
+/**
+ * StatsAdapter - Shows one card per game and difficulty from the score_stats table.
+ *
+ * The list is tiny (one row per difficulty played), but it still uses ListAdapter so
+ * a new score only rebinds the card whose numbers changed.
+ */
+public class StatsAdapter extends ListAdapter<ScoreStatsEntity, StatsAdapter.StatsViewHolder> {
+    private static final DiffUtil.ItemCallback<ScoreStatsEntity> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<ScoreStatsEntity>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull ScoreStatsEntity oldItem, @NonNull ScoreStatsEntity newItem) {
+                    return oldItem.gameType.equals(newItem.gameType)
+                            && oldItem.difficulty.equals(newItem.difficulty);
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull ScoreStatsEntity oldItem, @NonNull ScoreStatsEntity newItem) {
+                    return oldItem.gamesPlayed == newItem.gamesPlayed
+                            && oldItem.bestTimeSeconds == newItem.bestTimeSeconds
+                            && oldItem.bestMoves == newItem.bestMoves
+                            && oldItem.totalTimeSeconds == newItem.totalTimeSeconds
+                            && oldItem.totalMoves == newItem.totalMoves
+                            && oldItem.streakDays == newItem.streakDays
+                            && oldItem.lastPlayedDay == newItem.lastPlayedDay;
+                }
+            };
+
+    private final long today;  // Local day number, to tell whether a streak is still alive
+
+    public StatsAdapter(long today) {
+        super(DIFF_CALLBACK);
+        this.today = today;
+    }
+
+    @NonNull
+    @Override
+    public StatsViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_stat, parent, false);
+        return new StatsViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull StatsViewHolder holder, int position) {
+        ScoreStatsEntity stats = getItem(position);
+
+        String gameName = "MEMORY".equals(stats.gameType) ? "Memory Match" : "Sliding Puzzle";
+        holder.tvStatTitle.setText(gameName + " · " + stats.difficulty);
+
+        int streak = stats.getCurrentStreak(today);
+        holder.tvStatStreak.setText(streak > 0 ? "🔥 " + streak + (streak == 1 ? " day" : " days") : "");
+
+        holder.tvStatPlayed.setText(stats.gamesPlayed + (stats.gamesPlayed == 1 ? " game played" : " games played"));
+        holder.tvStatBest.setText("Best: " + formatTime(stats.bestTimeSeconds)
+                + " · " + stats.bestMoves + " moves");
+        holder.tvStatAverage.setText(String.format(Locale.US, "Average: %s · %.1f moves",
+                formatTime((int) Math.round(stats.getAverageTimeSeconds())), stats.getAverageMoves()));
+    }
+
+    /** Formats seconds as MM:SS */
+    private static String formatTime(int seconds) {
+        return String.format(Locale.US, "%02d:%02d", seconds / 60, seconds % 60);
+    }
+
+    /** ViewHolder holds references to all TextViews in item_stat.xml */
+    static class StatsViewHolder extends RecyclerView.ViewHolder {
+        TextView tvStatTitle, tvStatStreak, tvStatPlayed, tvStatBest, tvStatAverage;
+
+        StatsViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvStatTitle = itemView.findViewById(R.id.tvStatTitle);
+            tvStatStreak = itemView.findViewById(R.id.tvStatStreak);
+            tvStatPlayed = itemView.findViewById(R.id.tvStatPlayed);
+            tvStatBest = itemView.findViewById(R.id.tvStatBest);
+            tvStatAverage = itemView.findViewById(R.id.tvStatAverage);
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.example.puzzlehub.db;
 
 import android.content.Context;
 
+import androidx.annotation.NonNull;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 /**
  * AppDatabase - Room Database singleton for the Puzzle Hub app.
@@ -24,14 +26,23 @@ import androidx.room.RoomDatabase;
  * This prevents creating multiple database connections which wastes resources.
  *
  * The "synchronized" keyword ensures only one thread can create the instance at a time.
+ *
+ * VERSIONS:
+ * 1 - scores table
+ * 2 - indices on scores (Migrations.MIGRATION_1_2)
+ * 3 - score_stats table kept up to date by triggers (Migrations.MIGRATION_2_3)
+ * 4 - unique (gameType, difficulty, dateMillis) for de-duplicating imports (Migrations.MIGRATION_3_4)
+ * 5 - replays table, one recorded game per score (Migrations.MIGRATION_4_5)
  */
-@Database(entities = {ScoreEntity.class}, version = 1, exportSchema = false)
+@Database(entities = {ScoreEntity.class, ScoreStatsEntity.class, ReplayEntity.class}, version = 5, exportSchema = false)
 public abstract class AppDatabase extends RoomDatabase {
     // Volatile ensures the variable is always read from main memory, not from cache
     private static volatile AppDatabase INSTANCE;
 
     // Abstract method that Room generates the implementation for
     public abstract ScoreDao scoreDao();
+    public abstract ScoreStatsDao scoreStatsDao();
+    public abstract ReplayDao replayDao();
 
     /**
      * Gets the singleton database instance.
@@ -47,7 +58,20 @@ public abstract class AppDatabase extends RoomDatabase {
                             context.getApplicationContext(),
                             AppDatabase.class,
                             "puzzle_hub_db"
-                    ).build();
+                    )
+                            // Upgrade older database files in place instead of losing scores
+                            .addMigrations(Migrations.ALL)
+                            // Queries, transactions and ScoreWriter share one bounded pool
+                            .setQueryExecutor(DatabaseExecutors.IO)
+                            .setTransactionExecutor(DatabaseExecutors.IO)
+                            // Fresh installs skip the migrations, so create the triggers here
+                            .addCallback(new RoomDatabase.Callback() {
+                                @Override
+                                public void onCreate(@NonNull SupportSQLiteDatabase db) {
+                                    Migrations.createStatsTriggers(db);
+                                }
+                            })
+                            .build();
                 }
             }
         }
@@ -0,0 +1,41 @@
+package com.example.puzzlehub.db;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DatabaseExecutors - The one thread pool that touches the database.
+ *
+ * Room runs LiveData and Paging queries on its query executor and transactions on its
+ * transaction executor; ScoreWriter runs its batches here too. Sharing one bounded pool
+ * means the app never has more than POOL_SIZE database threads, however many screens
+ * observe queries or however often the player taps Save. Idle threads time out, so the
+ * pool costs nothing while the app is just being played.
+ */
+public final class DatabaseExecutors {
+    // SQLite allows one writer and a few readers at a time; more threads would only wait
+    private static final int POOL_SIZE = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    /** Shared by Room (queries and transactions) and ScoreWriter */
+    public static final ExecutorService IO = createPool();
+
+    private DatabaseExecutors() {}
+
+    private static ExecutorService createPool() {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "PuzzleHub-DB-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
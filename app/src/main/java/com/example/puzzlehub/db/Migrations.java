@@ -0,0 +1,186 @@
+package com.example.puzzlehub.db;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Migrations - Upgrades an existing puzzle_hub_db file to the current schema.
+ *
+ * WHY MIGRATIONS?
+ * When the @Database version goes up, Room refuses to open the old file unless it
+ * knows how to get from the old schema to the new one. Each Migration runs the SQL
+ * for one version step inside a transaction, and the players keep their scores.
+ * After migrating, Room checks that the tables and indices match the entities exactly,
+ * so the names below must be the ones Room generates from @Index.
+ *
+ * TRIGGERS (version 3):
+ * Room has no annotation for triggers, so they live here as plain SQL. They are created
+ * by MIGRATION_2_3 on upgraded installs and by AppDatabase's onCreate callback on fresh
+ * ones. After every INSERT or DELETE on scores they update the matching score_stats row
+ * inside the same transaction - O(log n) per score instead of O(n) per screen open.
+ */
+public final class Migrations {
+    private Migrations() {}
+
+    /** Version 1 → 2: indices for the history, leaderboard and sort queries */
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_scores_dateMillis` "
+                    + "ON `scores` (`dateMillis`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_scores_gameType_dateMillis` "
+                    + "ON `scores` (`gameType`, `dateMillis`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_scores_gameType_difficulty_timeSeconds_moves` "
+                    + "ON `scores` (`gameType`, `difficulty`, `timeSeconds`, `moves`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_scores_gameType_difficulty_moves_timeSeconds` "
+                    + "ON `scores` (`gameType`, `difficulty`, `moves`, `timeSeconds`)");
+        }
+    };
+
+    /** Version 2 → 3: the score_stats table, its triggers, and stats for the existing scores */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            // Must match the table Room generates from ScoreStatsEntity
+            db.execSQL("CREATE TABLE IF NOT EXISTS `score_stats` ("
+                    + "`gameType` TEXT NOT NULL, `difficulty` TEXT NOT NULL, "
+                    + "`gamesPlayed` INTEGER NOT NULL, `bestTimeSeconds` INTEGER NOT NULL, "
+                    + "`bestMoves` INTEGER NOT NULL, `totalTimeSeconds` INTEGER NOT NULL, "
+                    + "`totalMoves` INTEGER NOT NULL, `streakDays` INTEGER NOT NULL, "
+                    + "`lastPlayedDay` INTEGER NOT NULL, PRIMARY KEY(`gameType`, `difficulty`))");
+
+            // Totals in one grouped pass; the streak starts at 1 and is fixed up below
+            db.execSQL("INSERT OR REPLACE INTO score_stats SELECT gameType, difficulty, COUNT(*), "
+                    + "MIN(timeSeconds), MIN(moves), SUM(timeSeconds), SUM(moves), 1, "
+                    + "MAX(" + localDay("dateMillis") + ") FROM scores "
+                    + "WHERE gameType IS NOT NULL AND difficulty IS NOT NULL "
+                    + "GROUP BY gameType, difficulty");
+            backfillStreaks(db);
+            createStatsTriggers(db);
+        }
+    };
+
+    /** Version 3 → 4: one score per (gameType, difficulty, dateMillis), so imports can skip duplicates */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            // A unique index cannot be created over duplicates: keep the oldest copy of each.
+            // The delete trigger keeps score_stats correct for the removed rows.
+            db.execSQL("DELETE FROM scores WHERE id NOT IN "
+                    + "(SELECT MIN(id) FROM scores GROUP BY gameType, difficulty, dateMillis)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_scores_gameType_difficulty_dateMillis` "
+                    + "ON `scores` (`gameType`, `difficulty`, `dateMillis`)");
+        }
+    };
+
+    /** Version 4 → 5: the replays table (older scores simply have no replay) */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            // Must match the table Room generates from ReplayEntity
+            db.execSQL("CREATE TABLE IF NOT EXISTS `replays` ("
+                    + "`scoreId` INTEGER NOT NULL, `data` BLOB NOT NULL, PRIMARY KEY(`scoreId`), "
+                    + "FOREIGN KEY(`scoreId`) REFERENCES `scores`(`id`) "
+                    + "ON UPDATE NO ACTION ON DELETE CASCADE )");
+        }
+    };
+
+    /** Every migration, in version order, for Room.databaseBuilder().addMigrations() */
+    static final Migration[] ALL = {MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5};
+
+    /**
+     * SQL for the local calendar day of a millisecond timestamp (days since 1970-01-01).
+     * 'localtime' shifts to the device's time zone, so a streak follows the player's midnight.
+     * ScoreStatsEntity.localDay() is the same calculation in Java.
+     */
+    private static String localDay(String millis) {
+        return "(CAST(strftime('%s', " + millis + " / 1000, 'unixepoch', 'localtime') AS INTEGER) / 86400)";
+    }
+
+    /**
+     * Creates the triggers that keep score_stats in step with scores.
+     *
+     * INSERT: make sure the row exists, then add the score to the totals and bests and
+     * extend the streak (same day: unchanged, next day: +1, later day: back to 1).
+     * A score older than lastPlayedDay (e.g. imported) only updates the totals.
+     *
+     * DELETE: subtract the score from the totals and look the bests up again - MIN over
+     * (gameType, difficulty, ...) is a single index seek. The row is removed with its
+     * last score. Streaks are not rewound on delete.
+     */
+    static void createStatsTriggers(SupportSQLiteDatabase db) {
+        String day = localDay("NEW.dateMillis");
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS score_stats_after_insert AFTER INSERT ON scores "
+                + "WHEN NEW.gameType IS NOT NULL AND NEW.difficulty IS NOT NULL BEGIN "
+                + "INSERT OR IGNORE INTO score_stats VALUES "
+                + "(NEW.gameType, NEW.difficulty, 0, NEW.timeSeconds, NEW.moves, 0, 0, 0, -1); "
+                + "UPDATE score_stats SET "
+                + "gamesPlayed = gamesPlayed + 1, "
+                + "bestTimeSeconds = MIN(bestTimeSeconds, NEW.timeSeconds), "
+                + "bestMoves = MIN(bestMoves, NEW.moves), "
+                + "totalTimeSeconds = totalTimeSeconds + NEW.timeSeconds, "
+                + "totalMoves = totalMoves + NEW.moves, "
+                + "streakDays = CASE "
+                + "WHEN " + day + " = lastPlayedDay + 1 THEN streakDays + 1 "
+                + "WHEN " + day + " > lastPlayedDay THEN 1 "
+                + "ELSE streakDays END, "
+                + "lastPlayedDay = MAX(lastPlayedDay, " + day + ") "
+                + "WHERE gameType = NEW.gameType AND difficulty = NEW.difficulty; "
+                + "END");
+
+        db.execSQL("CREATE TRIGGER IF NOT EXISTS score_stats_after_delete AFTER DELETE ON scores "
+                + "WHEN OLD.gameType IS NOT NULL AND OLD.difficulty IS NOT NULL BEGIN "
+                + "UPDATE score_stats SET "
+                + "gamesPlayed = gamesPlayed - 1, "
+                + "totalTimeSeconds = totalTimeSeconds - OLD.timeSeconds, "
+                + "totalMoves = totalMoves - OLD.moves, "
+                + "bestTimeSeconds = IFNULL((SELECT MIN(timeSeconds) FROM scores "
+                + "WHERE gameType = OLD.gameType AND difficulty = OLD.difficulty), 0), "
+                + "bestMoves = IFNULL((SELECT MIN(moves) FROM scores "
+                + "WHERE gameType = OLD.gameType AND difficulty = OLD.difficulty), 0) "
+                + "WHERE gameType = OLD.gameType AND difficulty = OLD.difficulty; "
+                + "DELETE FROM score_stats WHERE gameType = OLD.gameType "
+                + "AND difficulty = OLD.difficulty AND gamesPlayed <= 0; "
+                + "END");
+    }
+
+    /** Works out each difficulty's streak from the distinct days it was played, in order */
+    private static void backfillStreaks(SupportSQLiteDatabase db) {
+        String lastType = null;
+        String lastDifficulty = null;
+        long previousDay = 0;
+        int streak = 0;
+        try (Cursor cursor = db.query("SELECT DISTINCT gameType, difficulty, "
+                + localDay("dateMillis") + " AS day FROM scores "
+                + "WHERE gameType IS NOT NULL AND difficulty IS NOT NULL "
+                + "ORDER BY gameType, difficulty, day")) {
+            while (cursor.moveToNext()) {
+                String type = cursor.getString(0);
+                String difficulty = cursor.getString(1);
+                long day = cursor.getLong(2);
+                boolean sameGroup = type.equals(lastType) && difficulty.equals(lastDifficulty);
+                if (sameGroup && day == previousDay + 1) {
+                    streak++;
+                } else {
+                    // A gap restarts the streak; a new group first saves the previous one
+                    if (!sameGroup && lastType != null) {
+                        saveStreak(db, lastType, lastDifficulty, streak);
+                    }
+                    streak = 1;
+                }
+                lastType = type;
+                lastDifficulty = difficulty;
+                previousDay = day;
+            }
+        }
+        if (lastType != null) saveStreak(db, lastType, lastDifficulty, streak);
+    }
+
+    private static void saveStreak(SupportSQLiteDatabase db, String type, String difficulty, int streak) {
+        db.execSQL("UPDATE score_stats SET streakDays = ? WHERE gameType = ? AND difficulty = ?",
+                new Object[]{streak, type, difficulty});
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.puzzlehub.db;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+
+/**
+ * ReplayDao - Stores and loads the replay saved with a score.
+ *
+ * Replays are written only by ScoreWriter, in the same transaction as their score, and
+ * deleted by the foreign key when the score is deleted.
+ */
+@Dao
+public interface ReplayDao {
+    @Insert
+    void insert(ReplayEntity replay);
+
+    /** The replay of one score, or null if none was recorded (e.g. imported scores) */
+    @Query("SELECT * FROM replays WHERE scoreId = :scoreId")
+    LiveData<ReplayEntity> getReplay(int scoreId);
+}
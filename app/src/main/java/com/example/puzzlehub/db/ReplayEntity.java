@@ -0,0 +1,38 @@
+package com.example.puzzlehub.db;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.PrimaryKey;
+
+/**
+ * ReplayEntity - The recorded moves of one saved game (table "replays", version 5).
+ *
+ * ONE ROW PER SCORE:
+ * scoreId is both the primary key and a foreign key to scores.id, so a score has at
+ * most one replay and finding it is a primary key lookup. ON DELETE CASCADE removes
+ * the replay together with its score (e.g. "Clear All").
+ *
+ * WHY A SEPARATE TABLE?
+ * The history list pages through the scores table row by row; keeping the BLOB out of
+ * it means those pages stay small and the leaderboard queries never touch replay bytes.
+ *
+ * data is Replay.encode() from the engine module - usually well under 300 bytes.
+ */
+@Entity(tableName = "replays",
+        foreignKeys = @ForeignKey(entity = ScoreEntity.class,
+                parentColumns = "id",
+                childColumns = "scoreId",
+                onDelete = ForeignKey.CASCADE))
+public class ReplayEntity {
+    @PrimaryKey
+    public int scoreId;
+
+    @NonNull
+    public byte[] data;
+
+    public ReplayEntity(int scoreId, @NonNull byte[] data) {
+        this.scoreId = scoreId;
+        this.data = data;
+    }
+}
@@ -0,0 +1,368 @@
+package com.example.puzzlehub.db;
+
+import android.database.Cursor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ScoreBackup - Streams the scores table to and from a file (CSV or compact binary).
+ *
+ * EXPORT (streaming):
+ * Rows come from ScoreDao.exportCursor() one at a time and are encoded straight into a
+ * 64 KB ByteBuffer, which is written to the output channel whenever it fills up. Memory
+ * use is the same for ten scores or a million - no List of all scores is ever built.
+ *
+ * IMPORT (chunked):
+ * The file is parsed row by row and inserted in chunks of CHUNK_SIZE, each chunk in one
+ * transaction. Scores that already exist (same game type, difficulty and date - the
+ * unique index) are skipped, so importing the same backup twice adds nothing.
+ * The format is recognised from the file's first bytes.
+ * Because it writes to the scores table, an import must run as a ScoreWriter bulk write
+ * (ScoreWriter.bulk()), so it stays ordered with saves and "Clear All".
+ *
+ * CSV FORMAT:
+ * A header line, then gameType,difficulty,moves,timeSeconds,dateMillis per line.
+ * Text fields are quoted only when they contain a comma, quote or line break.
+ *
+ * BINARY FORMAT ("PHSC", version 1):
+ * - Numbers are varints (7 bits per byte); a score's date is stored as the zigzag
+ *   difference from the previous score's date, which is usually a few bytes.
+ * - Strings are interned: the first time a gameType or difficulty appears it is written
+ *   as 0, length, UTF-8 bytes; afterwards only as its table index + 1 (one byte).
+ * A typical score takes about 10 bytes instead of ~36 in CSV. The file ends after the last score.
+ */
+public final class ScoreBackup {
+    public static final int FORMAT_CSV = 0;
+    public static final int FORMAT_BINARY = 1;
+
+    private static final int CHUNK_SIZE = 500;          // Scores per import transaction
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte[] MAGIC = {'P', 'H', 'S', 'C'};
+    private static final int BINARY_VERSION = 1;
+    private static final String CSV_HEADER = "gameType,difficulty,moves,timeSeconds,dateMillis";
+
+    /** What an import did */
+    public static final class ImportResult {
+        public final int read;     // Scores found in the file
+        public final int added;    // Scores that were new
+
+        ImportResult(int read, int added) {
+            this.read = read;
+            this.added = added;
+        }
+    }
+
+    private ScoreBackup() {}
+
+    /**
+     * Writes every score to out in the given format and returns how many were written.
+     * Blocks on disk and database I/O - call it off the main thread. Does not close out.
+     */
+    public static int export(AppDatabase database, WritableByteChannel out, int format) throws IOException {
+        ChannelWriter writer = new ChannelWriter(out);
+        int count = 0;
+        try (Cursor cursor = database.scoreDao().exportCursor()) {
+            if (format == FORMAT_BINARY) {
+                writer.put(MAGIC);
+                writer.putVarLong(BINARY_VERSION);
+                Map<String, Integer> strings = new HashMap<>();
+                long previousDate = 0;
+                while (cursor.moveToNext()) {
+                    long date = cursor.getLong(4);
+                    writer.putString(strings, cursor.getString(0));
+                    writer.putString(strings, cursor.getString(1));
+                    writer.putVarLong(cursor.getInt(2));
+                    writer.putVarLong(cursor.getInt(3));
+                    writer.putVarLong(zigZag(date - previousDate));
+                    previousDate = date;
+                    count++;
+                }
+            } else {
+                StringBuilder line = new StringBuilder(64);
+                writer.put((CSV_HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+                while (cursor.moveToNext()) {
+                    line.setLength(0);
+                    appendCsvField(line, cursor.getString(0)).append(',');
+                    appendCsvField(line, cursor.getString(1)).append(',');
+                    line.append(cursor.getInt(2)).append(',')
+                            .append(cursor.getInt(3)).append(',')
+                            .append(cursor.getLong(4)).append('\n');
+                    writer.put(line.toString().getBytes(StandardCharsets.UTF_8));
+                    count++;
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Reads a CSV or binary backup from in and inserts the scores that are not there yet.
+     * Blocks on disk and database I/O - call it from a ScoreWriter.BulkWrite. Does not close in.
+     * On a malformed file, the chunks before the bad row stay imported and an IOException
+     * says where parsing stopped; importing again after fixing the file skips them.
+     */
+    public static ImportResult importFrom(AppDatabase database, ReadableByteChannel in) throws IOException {
+        InputStream stream = new BufferedInputStream(Channels.newInputStream(in), BUFFER_SIZE);
+        ChunkInserter inserter = new ChunkInserter(database);
+
+        // Recognise the format from the first bytes, then rewind
+        stream.mark(MAGIC.length);
+        byte[] head = new byte[MAGIC.length];
+        int headLength = readFully(stream, head);
+        stream.reset();
+        boolean binary = headLength == MAGIC.length && Arrays.equals(head, MAGIC);
+
+        if (binary) {
+            readBinary(stream, inserter);
+        } else {
+            readCsv(stream, inserter);
+        }
+        inserter.flush();
+        return new ImportResult(inserter.read, inserter.added);
+    }
+
+    private static void readBinary(InputStream stream, ChunkInserter inserter) throws IOException {
+        readFully(stream, new byte[MAGIC.length]);  // Magic, already checked
+        long version = readVarLong(stream, false);
+        if (version != BINARY_VERSION) {
+            throw new IOException("Unsupported backup version " + version);
+        }
+        List<String> strings = new ArrayList<>();
+        long date = 0;
+        while (true) {
+            // A file may only end between two scores
+            String gameType = readString(stream, strings, true);
+            if (gameType == null) return;
+            String difficulty = readString(stream, strings, false);
+            int moves = (int) readVarLong(stream, false);
+            int timeSeconds = (int) readVarLong(stream, false);
+            date += unZigZag(readVarLong(stream, false));
+            inserter.add(new ScoreEntity(gameType, difficulty, moves, timeSeconds, date));
+        }
+    }
+
+    private static void readCsv(InputStream stream, ChunkInserter inserter) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        String line = reader.readLine();
+        if (line == null) return;  // Empty file
+        if (!line.isEmpty() && line.charAt(0) == '\uFEFF') line = line.substring(1);  // BOM added by some editors
+        if (!line.trim().equals(CSV_HEADER)) {
+            throw new IOException("Not a score backup: unexpected header \"" + line + "\"");
+        }
+        List<String> fields = new ArrayList<>(5);
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isEmpty()) continue;
+            // A quoted field may contain line breaks: keep reading until the quotes close
+            while (!splitCsvLine(line, fields)) {
+                String next = reader.readLine();
+                if (next == null) throw new IOException("Line " + lineNumber + ": unclosed quote");
+                line = line + "\n" + next;
+                lineNumber++;
+            }
+            if (fields.size() != 5) {
+                throw new IOException("Line " + lineNumber + ": expected 5 fields, found " + fields.size());
+            }
+            try {
+                inserter.add(new ScoreEntity(fields.get(0), fields.get(1),
+                        Integer.parseInt(fields.get(2)), Integer.parseInt(fields.get(3)),
+                        Long.parseLong(fields.get(4))));
+            } catch (NumberFormatException e) {
+                throw new IOException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    // ---- CSV helpers ----
+
+    private static StringBuilder appendCsvField(StringBuilder line, String value) {
+        if (value == null) return line;
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) return line.append(value);
+        return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    /** Splits one CSV record into fields; false if a quoted field continues on the next line */
+    private static boolean splitCsvLine(String line, List<String> fields) {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');  // "" inside quotes is one quote
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        if (quoted) return false;
+        fields.add(field.toString());
+        return true;
+    }
+
+    // ---- Binary helpers ----
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Reads a varint; returns -1 at end of file only if endAllowed, otherwise throws */
+    private static long readVarLong(InputStream stream, boolean endAllowed) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = stream.read();
+            if (b < 0) {
+                if (endAllowed && shift == 0) return -1;
+                throw new EOFException("Backup file is truncated");
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IOException("Malformed number in backup file");
+    }
+
+    /** Reads an interned string; null at a clean end of file if endAllowed */
+    private static String readString(InputStream stream, List<String> strings, boolean endAllowed)
+            throws IOException {
+        long ref = readVarLong(stream, endAllowed);
+        if (ref < 0) return null;
+        if (ref > 0) {
+            if (ref > strings.size()) throw new IOException("Malformed string reference in backup file");
+            return strings.get((int) ref - 1);
+        }
+        long length = readVarLong(stream, false);
+        if (length > BUFFER_SIZE) throw new IOException("Malformed string in backup file");
+        byte[] bytes = new byte[(int) length];
+        if (readFully(stream, bytes) != bytes.length) throw new EOFException("Backup file is truncated");
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        strings.add(value);
+        return value;
+    }
+
+    private static int readFully(InputStream stream, byte[] bytes) throws IOException {
+        int total = 0;
+        while (total < bytes.length) {
+            int n = stream.read(bytes, total, bytes.length - total);
+            if (n < 0) break;
+            total += n;
+        }
+        return total;
+    }
+
+    /** Encodes into one reusable ByteBuffer and writes it to the channel when it fills up */
+    private static final class ChannelWriter {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        ChannelWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void put(byte[] bytes) throws IOException {
+            if (buffer.remaining() < bytes.length) flush();
+            if (bytes.length > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(bytes));
+            } else {
+                buffer.put(bytes);
+            }
+        }
+
+        void putVarLong(long value) throws IOException {
+            if (buffer.remaining() < 10) flush();  // A 64-bit varint is at most 10 bytes
+            while ((value & ~0x7FL) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        /** Writes a string reference, adding the string itself the first time it is seen */
+        void putString(Map<String, Integer> strings, String value) throws IOException {
+            if (value == null) value = "";
+            Integer index = strings.get(value);
+            if (index != null) {
+                putVarLong(index + 1);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarLong(0);
+            putVarLong(bytes.length);
+            put(bytes);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        private void writeFully(ByteBuffer source) throws IOException {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        }
+    }
+
+    /** Collects imported scores and inserts them CHUNK_SIZE at a time, one transaction each */
+    private static final class ChunkInserter {
+        private final AppDatabase database;
+        private final List<ScoreEntity> chunk = new ArrayList<>(CHUNK_SIZE);
+        int read;
+        int added;
+
+        ChunkInserter(AppDatabase database) {
+            this.database = database;
+        }
+
+        void add(ScoreEntity score) {
+            chunk.add(score);
+            read++;
+            if (chunk.size() == CHUNK_SIZE) flush();
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) return;
+            // @Insert with a List already runs in one transaction
+            long[] ids = database.scoreDao().insertAllIgnoringDuplicates(chunk);
+            for (long id : ids) {
+                if (id != -1) added++;
+            }
+            chunk.clear();
+        }
+    }
+}
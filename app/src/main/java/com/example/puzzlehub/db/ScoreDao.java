@@ -1,8 +1,11 @@
 package com.example.puzzlehub.db;
 
-import androidx.lifecycle.LiveData;
+import android.database.Cursor;
+
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
 
 import java.util.List;
@@ -18,24 +21,93 @@ import java.util.List;
  * HOW ROOM STORES DATA:
  * - @Insert automatically generates SQL INSERT code
  * - @Query lets us write custom SQL queries
- * - LiveData wraps the result so the UI updates automatically when data changes
+ * - PagingSource lets Room load a query one page at a time (room-paging generates it)
+ *   and reload it automatically when the data changes
  *
  * Note: Database operations (insert, delete) must run on a background thread.
- * Query operations that return LiveData are automatically handled by Room.
+ * Query operations that return a PagingSource are automatically handled by Room.
  */
 @Dao
 public interface ScoreDao {
-    /** Inserts a new score into the database */
+    /** Inserts a new score into the database and returns its row id */
     @Insert
-    void insert(ScoreEntity score);
+    long insert(ScoreEntity score);
+
+    /**
+     * Inserts a chunk of imported scores. A score already in the table (same game type,
+     * difficulty and date - the unique index) is skipped. Returns the new row ids, with
+     * -1 for every skipped score.
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long[] insertAllIgnoringDuplicates(List<ScoreEntity> scores);
+
+    /**
+     * Every score, oldest first, as a raw Cursor for streaming exports. The Cursor reads
+     * the table window by window, so even a huge history never becomes one big List.
+     * Must be called off the main thread, and the caller must close it.
+     */
+    @Query("SELECT gameType, difficulty, moves, timeSeconds, dateMillis FROM scores ORDER BY id")
+    Cursor exportCursor();
 
-    /** Gets all scores sorted by date (newest first), wrapped in LiveData for auto-updates */
+    /*
+     * PAGED QUERIES FOR THE HISTORY SCREEN
+     * Each sort order has one query for all games and one for a single game type
+     * ("MEMORY" or "SLIDE"). They are separate on purpose: with "gameType = :type"
+     * SQLite can seek straight into the (gameType, ...) index, which it cannot do for
+     * "(:type IS NULL OR gameType = :type)". Every ORDER BY of the full lists matches an
+     * index from ScoreEntity column for column, so pages are read in index order - no
+     * scan, no sort. The leaderboards read a few index entries per difficulty (see below).
+     * Room invalidates the PagingSource whenever the table changes.
+     */
+
+    /** Newest first, all games - index (dateMillis) */
     @Query("SELECT * FROM scores ORDER BY dateMillis DESC")
-    LiveData<List<ScoreEntity>> getAllScores();
+    PagingSource<Integer, ScoreEntity> pageNewest();
 
-    /** Gets scores filtered by game type (MEMORY or SLIDE) */
+    /** Newest first, one game type - index (gameType, dateMillis) */
     @Query("SELECT * FROM scores WHERE gameType = :type ORDER BY dateMillis DESC")
-    LiveData<List<ScoreEntity>> getScoresByType(String type);
+    PagingSource<Integer, ScoreEntity> pageNewestByType(String type);
+
+    /** Fastest first within each game and difficulty - index (gameType, difficulty, timeSeconds, moves) */
+    @Query("SELECT * FROM scores ORDER BY gameType, difficulty, timeSeconds, moves")
+    PagingSource<Integer, ScoreEntity> pageFastest();
+
+    /** Fastest first within each difficulty of one game type */
+    @Query("SELECT * FROM scores WHERE gameType = :type ORDER BY difficulty, timeSeconds, moves")
+    PagingSource<Integer, ScoreEntity> pageFastestByType(String type);
+
+    /** Fewest moves first within each game and difficulty - index (gameType, difficulty, moves, timeSeconds) */
+    @Query("SELECT * FROM scores ORDER BY gameType, difficulty, moves, timeSeconds")
+    PagingSource<Integer, ScoreEntity> pageFewestMoves();
+
+    /** Fewest moves first within each difficulty of one game type */
+    @Query("SELECT * FROM scores WHERE gameType = :type ORDER BY difficulty, moves, timeSeconds")
+    PagingSource<Integer, ScoreEntity> pageFewestMovesByType(String type);
+
+    /**
+     * Leaderboard: the n fastest scores of every game and difficulty.
+     * The query is driven by the groups, not by the scores: score_stats has exactly one
+     * row per game and difficulty that has scores. For each group the subquery walks that
+     * group's (gameType, difficulty, timeSeconds, moves) index and stops after n entries,
+     * and those ids are looked up by primary key - O(groups · (log size + n)) in total,
+     * never a pass over the scores table. Only the groups · n result rows are sorted.
+     * Ties on time and moves go to the older score (lower id).
+     */
+    @Query("SELECT s.* FROM score_stats AS g JOIN scores AS s ON s.id IN ("
+            + "SELECT b.id FROM scores AS b"
+            + " WHERE b.gameType = g.gameType AND b.difficulty = g.difficulty"
+            + " ORDER BY b.timeSeconds, b.moves, b.id LIMIT :n)"
+            + " ORDER BY s.gameType, s.difficulty, s.timeSeconds, s.moves, s.id")
+    PagingSource<Integer, ScoreEntity> pageTopPerDifficulty(int n);
+
+    /** Leaderboard for one game type: the n fastest scores of each of its difficulties */
+    @Query("SELECT s.* FROM score_stats AS g JOIN scores AS s ON s.id IN ("
+            + "SELECT b.id FROM scores AS b"
+            + " WHERE b.gameType = g.gameType AND b.difficulty = g.difficulty"
+            + " ORDER BY b.timeSeconds, b.moves, b.id LIMIT :n)"
+            + " WHERE g.gameType = :type"
+            + " ORDER BY s.difficulty, s.timeSeconds, s.moves, s.id")
+    PagingSource<Integer, ScoreEntity> pageTopPerDifficultyByType(String type, int n);
 
     /** Deletes all scores from the database */
     @Query("DELETE FROM scores")
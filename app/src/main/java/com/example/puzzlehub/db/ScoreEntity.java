@@ -1,6 +1,7 @@
 package com.example.puzzlehub.db;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
@@ -15,18 +16,38 @@ import androidx.room.PrimaryKey;
  * Fields:
  * - id: Auto-generated unique identifier
  * - gameType: "MEMORY" or "SLIDE"
- * - difficulty: "EASY", "HARD", "3x3", or "4x4"
+ * - difficulty: "EASY", "HARD", a large memory board "8x8" / "10x10", or a sliding
+ *   grid size "3x3" ... "10x10"
  * - moves: Number of moves the player made
  * - timeSeconds: How long the game took in seconds
  * - dateMillis: When the score was saved (timestamp in milliseconds)
+ *
+ * INDICES (added in database version 2, see Migrations.MIGRATION_1_2):
+ * An index is a sorted copy of some columns that points back at the rows, so SQLite
+ * can jump to "all SLIDE scores" or walk "fastest 3x3 first" without reading and
+ * sorting the whole table. Each index serves the ScoreDao queries with the same order:
+ * - (dateMillis): newest first, all games
+ * - (gameType, dateMillis): newest first, one game
+ * - (gameType, difficulty, timeSeconds, moves): fastest, and the top-N leaderboards
+ * - (gameType, difficulty, moves, timeSeconds): fewest moves
+ * - (gameType, difficulty, dateMillis), UNIQUE since version 4: the same game saved
+ *   twice (e.g. by importing a backup again) is recognised and skipped
+ * Room names them index_scores_<columns>; the migration must create the same names.
  */
-@Entity(tableName = "scores")
+@Entity(tableName = "scores",
+        indices = {
+                @Index(value = {"dateMillis"}),
+                @Index(value = {"gameType", "dateMillis"}),
+                @Index(value = {"gameType", "difficulty", "timeSeconds", "moves"}),
+                @Index(value = {"gameType", "difficulty", "moves", "timeSeconds"}),
+                @Index(value = {"gameType", "difficulty", "dateMillis"}, unique = true)
+        })
 public class ScoreEntity {
     @PrimaryKey(autoGenerate = true)
     public int id;
 
     public String gameType;     // "MEMORY" or "SLIDE"
-    public String difficulty;   // "EASY", "HARD", "3x3", or "4x4"
+    public String difficulty;   // "EASY", "HARD", or "3x3" ... "10x10"
     public int moves;           // Number of moves
     public int timeSeconds;     // Time taken in seconds
     public long dateMillis;     // Timestamp when score was saved
@@ -0,0 +1,20 @@
+package com.example.puzzlehub.db;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * ScoreStatsDao - Reads the per-difficulty statistics.
+ *
+ * There are no insert or update methods: the score_stats rows are written only by the
+ * triggers on the scores table, so they can never drift out of step with the scores.
+ */
+@Dao
+public interface ScoreStatsDao {
+    /** One row per game and difficulty that has at least one score */
+    @Query("SELECT * FROM score_stats ORDER BY gameType, difficulty")
+    LiveData<List<ScoreStatsEntity>> getAllStats();
+}
@@ -0,0 +1,52 @@
+package com.example.puzzlehub.db;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+
+import java.util.TimeZone;
+
+/**
+ * ScoreStatsEntity - Running totals for one game and difficulty (table "score_stats").
+ *
+ * WHY A SEPARATE TABLE?
+ * Working out "games played" or "average time" from the scores table means reading
+ * every score of that difficulty. Instead, SQLite triggers (see Migrations) update this
+ * one row every time a score is inserted or deleted, so the stats screen reads a
+ * handful of rows no matter how long the history is.
+ *
+ * Averages are not stored; they are the totals divided by gamesPlayed, which keeps
+ * them exact. Days are local calendar days counted from 1970-01-01.
+ */
+@Entity(tableName = "score_stats", primaryKeys = {"gameType", "difficulty"})
+public class ScoreStatsEntity {
+    @NonNull
+    public String gameType = "";     // "MEMORY" or "SLIDE"
+    @NonNull
+    public String difficulty = "";   // Same values as ScoreEntity.difficulty
+
+    public int gamesPlayed;
+    public int bestTimeSeconds;      // Lowest timeSeconds of any score
+    public int bestMoves;            // Lowest moves of any score
+    public long totalTimeSeconds;    // Sum of timeSeconds, for the average
+    public long totalMoves;          // Sum of moves, for the average
+    public int streakDays;           // Consecutive days played, ending at lastPlayedDay
+    public long lastPlayedDay;       // Latest day with a score
+
+    /** Local calendar day of a timestamp - the Java twin of the triggers' day calculation */
+    public static long localDay(long millis) {
+        return Math.floorDiv(millis + TimeZone.getDefault().getOffset(millis), 86_400_000L);
+    }
+
+    public double getAverageTimeSeconds() {
+        return gamesPlayed == 0 ? 0 : (double) totalTimeSeconds / gamesPlayed;
+    }
+
+    public double getAverageMoves() {
+        return gamesPlayed == 0 ? 0 : (double) totalMoves / gamesPlayed;
+    }
+
+    /** The streak as of today: it is broken once a whole day passes without a game */
+    public int getCurrentStreak(long today) {
+        return lastPlayedDay >= today - 1 ? streakDays : 0;
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.puzzlehub.db;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ScoreWriter - App-wide queue for every write to the scores table.
+ *
+ * WHY A WRITE PIPELINE?
+ * Starting a new thread per button press leaks threads and lets two writes race.
+ * Here every insert or delete is queued and applied in order by one drain task on
+ * DatabaseExecutors.IO - at most one drain runs at a time.
+ *
+ * BATCHING:
+ * The drain task takes everything queued so far and applies it in a single
+ * transaction, so a burst of writes costs one commit (one fsync) instead of one each.
+ * Writes that arrive while a batch is running simply form the next batch. Inserts
+ * queued before a "delete all" in the same batch are dropped, since they would be
+ * deleted anyway.
+ *
+ * BULK WRITES:
+ * A backup import inserts thousands of rows in its own chunked transactions, so it does
+ * not fit in a batch. It is queued as a BulkWrite instead: the drain task commits the
+ * writes queued before it, runs it on its own, then carries on with the writes queued
+ * after it. An import and a "Clear All" therefore still happen in the order they were
+ * asked for.
+ *
+ * REPLAYS:
+ * A score can carry its recorded replay. The replay row needs the score's generated id,
+ * so it is inserted right after the score, in the same transaction - a score is never
+ * saved without the replay it came with.
+ *
+ * CALLBACKS:
+ * Each write can take a Callback, which runs on the main thread after its batch
+ * commits (or fails). The writer belongs to the application, not to an Activity, so a
+ * save finishes even if the screen that asked for it is closed.
+ */
+public final class ScoreWriter {
+    private static final String TAG = "ScoreWriter";
+    private static volatile ScoreWriter INSTANCE;
+
+    /** Told on the main thread whether a queued write reached the database */
+    public interface Callback {
+        void onComplete(boolean success);
+    }
+
+    /** A write that manages its own transactions; runs on the writer's thread */
+    public interface BulkWrite {
+        void run(AppDatabase database);
+    }
+
+    // One queued write; score == null and bulk == null means "delete all scores"
+    private static final class Write {
+        final ScoreEntity score;
+        final byte[] replay;    // Replay.encode() of the game, or null
+        final BulkWrite bulk;   // Applied on its own, outside any batch
+        final Callback callback;
+
+        Write(ScoreEntity score, byte[] replay, BulkWrite bulk, Callback callback) {
+            this.score = score;
+            this.replay = replay;
+            this.bulk = bulk;
+            this.callback = callback;
+        }
+
+        boolean isDeleteAll() {
+            return score == null && bulk == null;
+        }
+    }
+
+    private final AppDatabase database;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Object lock = new Object();
+    private List<Write> pending = new ArrayList<>();  // Guarded by lock
+    private boolean draining;                          // Guarded by lock
+
+    private ScoreWriter(AppDatabase database) {
+        this.database = database;
+    }
+
+    /** Gets the app-wide writer (same singleton pattern as AppDatabase) */
+    public static ScoreWriter getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ScoreWriter.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ScoreWriter(AppDatabase.getInstance(context));
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /** Queues a new score; callback may be null */
+    public void insert(ScoreEntity score, Callback callback) {
+        insert(score, null, callback);
+    }
+
+    /** Queues a new score with its encoded replay; replay and callback may be null */
+    public void insert(ScoreEntity score, byte[] replay, Callback callback) {
+        if (score == null) throw new IllegalArgumentException("score must not be null");
+        enqueue(new Write(score, replay, null, callback));
+    }
+
+    /** Queues deleting every score (and with them their replays); callback may be null */
+    public void deleteAll(Callback callback) {
+        enqueue(new Write(null, null, null, callback));
+    }
+
+    /**
+     * Queues a bulk write (e.g. ScoreBackup.importFrom) after everything queued so far;
+     * callback may be null. success is false if it threw a RuntimeException.
+     */
+    public void bulk(BulkWrite bulk, Callback callback) {
+        if (bulk == null) throw new IllegalArgumentException("bulk must not be null");
+        enqueue(new Write(null, null, bulk, callback));
+    }
+
+    private void enqueue(Write write) {
+        synchronized (lock) {
+            pending.add(write);
+            if (draining) return;  // The running drain task will pick it up
+            draining = true;
+        }
+        DatabaseExecutors.IO.execute(this::drain);
+    }
+
+    /** Applies queued writes batch by batch until the queue is empty */
+    private void drain() {
+        while (true) {
+            List<Write> queued;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                queued = pending;
+                pending = new ArrayList<>();
+            }
+
+            // Bulk writes split the queue: the writes on either side are separate batches
+            int start = 0;
+            for (int i = 0; i <= queued.size(); i++) {
+                if (i < queued.size() && queued.get(i).bulk == null) continue;
+                if (i > start) applyBatch(queued.subList(start, i));
+                if (i < queued.size()) applyBulk(queued.get(i));
+                start = i + 1;
+            }
+        }
+    }
+
+    private void applyBatch(List<Write> batch) {
+        boolean success;
+        try {
+            database.runInTransaction(() -> apply(batch));
+            success = true;
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to write " + batch.size() + " queued score change(s)", e);
+            success = false;
+        }
+        notifyCallbacks(batch, success);
+    }
+
+    private void applyBulk(Write write) {
+        boolean success;
+        try {
+            write.bulk.run(database);
+            success = true;
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Bulk score write failed", e);
+            success = false;
+        }
+        notifyCallbacks(Collections.singletonList(write), success);
+    }
+
+    /** Runs inside the batch transaction */
+    private void apply(List<Write> batch) {
+        // Everything before the last "delete all" would be deleted by it anyway
+        int start = 0;
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            if (batch.get(i).isDeleteAll()) {
+                start = i;
+                break;
+            }
+        }
+        ScoreDao dao = database.scoreDao();
+        ReplayDao replayDao = database.replayDao();
+        for (int i = start; i < batch.size(); i++) {
+            Write write = batch.get(i);
+            if (write.isDeleteAll()) {
+                dao.deleteAll();
+            } else {
+                long id = dao.insert(write.score);
+                if (write.replay != null) replayDao.insert(new ReplayEntity((int) id, write.replay));
+            }
+        }
+    }
+
+    private void notifyCallbacks(List<Write> batch, boolean success) {
+        for (Write write : batch) {
+            if (write.callback != null) {
+                Callback callback = write.callback;
+                mainHandler.post(() -> callback.onComplete(success));
+            }
+        }
+    }
+}
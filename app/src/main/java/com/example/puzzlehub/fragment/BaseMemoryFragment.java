@@ -1,6 +1,7 @@
 package com.example.puzzlehub.fragment;
 
 import android.content.Intent;
+import android.graphics.Bitmap;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
@@ -11,6 +12,7 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -18,10 +20,10 @@ import com.example.puzzlehub.MemoryMatchActivity;
 import com.example.puzzlehub.R;
 import com.example.puzzlehub.ResultActivity;
 import com.example.puzzlehub.adapter.MemoryCardAdapter;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import com.example.puzzlehub.engine.MemoryDeck;
+import com.example.puzzlehub.render.CardBitmapCache;
+import com.example.puzzlehub.render.CardFaceAtlas;
+import com.example.puzzlehub.viewmodel.MemoryGameViewModel;
 
 /**
  * BaseMemoryFragment - Base Fragment for the Memory Match Cards game.
@@ -36,13 +38,26 @@ import java.util.List;
  * - onViewCreated(): Called after the view is ready, sets up the RecyclerView
  *
  * FRAGMENT AS REUSABLE UI:
- * This is an abstract class - MemoryEasyFragment and MemoryHardFragment extend it.
+ * This is an abstract class - MemoryEasyFragment, MemoryHardFragment and
+ * MemoryNxNFragment (8×8 and 10×10) extend it.
  * Each subclass only needs to specify the grid size and difficulty name.
  * The game logic (flipping, matching, winning) is shared in this base class.
  *
  * RECYCLERVIEW WITH GRIDLAYOUTMANAGER:
  * The game board uses a RecyclerView with GridLayoutManager to display cards in a grid.
- * GridLayoutManager arranges items in rows and columns (4×4 or 6×6).
+ * GridLayoutManager arranges items in rows and columns (4×4 up to 10×10).
+ *
+ * CARD FACES:
+ * The first 18 pairs show the hand-drawn CARD_FRONTS vectors. Larger boards (up to 50
+ * pairs on 10×10) need more faces than that; the extra ones are generated procedurally
+ * into a CardFaceAtlas on a background thread while the face-down board is shown.
+ * The vectors themselves are rasterized once at the card's size by CardBitmapCache,
+ * also in the background, so flipping a card never draws a vector on the UI thread.
+ *
+ * GAME LOGIC IN THE ENGINE:
+ * Dealing, flipping and matching live in MemoryDeck (plain Java, in the engine module,
+ * where it is benchmarked). This fragment only turns taps into deck.flip() calls,
+ * schedules the flip-back delay, and tells the adapter which cards to redraw.
  *
  * HOW WIN LOGIC WORKS (MEMORY MATCH):
  * 1. Player taps a card → it flips face up
@@ -51,23 +66,30 @@ import java.util.List;
  * 4. If they don't match → both flip back face down after 1 second delay
  * 5. Input is locked during the 1-second comparison delay
  * 6. When all pairs are matched → player wins and goes to ResultActivity
+ *
+ * REPLAY:
+ * The deal and every accepted flip are recorded; ignored taps are not, since they did
+ * not change the game. The encoded Replay goes to ResultActivity with the score.
+ *
+ * GAME STATE IN A VIEWMODEL:
+ * The deck and replay live in MemoryGameViewModel (scoped to the Activity), so a
+ * rotated screen shows the same cards instead of dealing new ones, and a game
+ * interrupted by process death is restored from its snapshot.
  */
 public abstract class BaseMemoryFragment extends Fragment {
+    private static final long FLIP_BACK_DELAY_MS = 1000;
+
     private MemoryCardAdapter adapter;
-    private int firstCard = -1;      // Position of first flipped card (-1 = none selected)
-    private int secondCard = -1;     // Position of second flipped card
-    private boolean isComparing = false;  // Lock input during comparison
-    private int moves = 0;           // Move counter
-    private int matchedPairs = 0;    // Number of pairs found
-    private int totalPairs;          // Total pairs needed to win
+    private MemoryGameViewModel game;  // Deck and replay (outlives this view)
+    private MemoryDeck deck;           // game.getDeck(): cards, flips, matches and the move counter
     private final Handler handler = new Handler(Looper.getMainLooper());
 
     // Subclasses must implement these to define difficulty
-    protected abstract int getGridSize();       // 4 for Easy, 6 for Hard
-    protected abstract String getDifficulty();  // "EASY" or "HARD"
+    protected abstract int getGridSize();       // 4 for Easy, 6 for Hard, 8 or 10 for NxN
+    protected abstract String getDifficulty();  // "EASY", "HARD", "8x8" or "10x10"
 
-    // Array of drawable resources for card front images
-    private static final int[] CARD_FRONTS = {
+    // Array of drawable resources for card front images (also used by ReplayActivity)
+    public static final int[] CARD_FRONTS = {
             R.drawable.card_front_1, R.drawable.card_front_2, R.drawable.card_front_3,
             R.drawable.card_front_4, R.drawable.card_front_5, R.drawable.card_front_6,
             R.drawable.card_front_7, R.drawable.card_front_8, R.drawable.card_front_9,
@@ -97,88 +119,116 @@ public abstract class BaseMemoryFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
         RecyclerView rvBoard = view.findViewById(R.id.rvBoard);
         int gridSize = getGridSize();
-        totalPairs = (gridSize * gridSize) / 2;
 
-        // Create pairs of cards (each card appears twice)
-        List<Integer> cards = new ArrayList<>();
-        for (int i = 0; i < totalPairs; i++) {
-            cards.add(CARD_FRONTS[i]);
-            cards.add(CARD_FRONTS[i]);
-        }
-        // Shuffle the cards randomly
-        Collections.shuffle(cards);
+        // Same deck after a rotation; a restored or newly dealt one otherwise
+        // (every pair id appears twice, pair id i shows CARD_FRONTS[i])
+        game = new ViewModelProvider(requireActivity()).get(MemoryGameViewModel.class);
+        game.startOrResume(getDifficulty(), gridSize);
+        deck = game.getDeck();
 
         // Set up the RecyclerView with a GridLayoutManager
         // GridLayoutManager(context, spanCount) creates a grid with 'spanCount' columns
-        adapter = new MemoryCardAdapter(cards);
+        adapter = new MemoryCardAdapter(deck, CARD_FRONTS);
         rvBoard.setLayoutManager(new GridLayoutManager(requireContext(), gridSize));
         rvBoard.setAdapter(adapter);
 
         // Set the click listener for card taps
         adapter.setOnCardClickListener(this::onCardClicked);
+        if (deck.getPairCount() > CARD_FRONTS.length) requestAtlas();
+        // The card size is only known once the board has been laid out
+        rvBoard.post(() -> requestCardBitmaps(rvBoard.getWidth()));
+        if (getActivity() instanceof MemoryMatchActivity) {
+            ((MemoryMatchActivity) getActivity()).onGameShown();
+        }
+
+        // Rotated while a mismatch was showing: the old view's flip-back was cancelled
+        if (deck.isWaitingForHide()) {
+            scheduleHideMismatch(deck.getFirstCard(), deck.getSecondCard());
+        }
+    }
+
+    /**
+     * Hands the adapter the procedural faces this board needs; if they are still being
+     * rendered, asks again once they are ready (the view may be gone by then).
+     */
+    private void requestAtlas() {
+        if (getView() == null) return;
+        CardFaceAtlas atlas = CardFaceAtlas.obtain(deck.getPairCount() - CARD_FRONTS.length,
+                MemoryCardAdapter.cardHeightPx(requireContext(), getGridSize()), this::requestAtlas);
+        if (atlas != null) adapter.setAtlas(atlas);
+    }
+
+    /** Asks CardBitmapCache for the card images at the board's card size */
+    private void requestCardBitmaps(int boardWidthPx) {
+        if (getView() == null || boardWidthPx <= 0) return;
+        int faces = Math.min(deck.getPairCount(), CARD_FRONTS.length);
+        int[] drawables = new int[faces + 1];
+        System.arraycopy(CARD_FRONTS, 0, drawables, 0, faces);
+        drawables[faces] = R.drawable.card_back;
+        int maxPx = MemoryCardAdapter.cardImageMaxPx(requireContext(), getGridSize(), boardWidthPx);
+        Bitmap[] bitmaps = CardBitmapCache.get(requireContext()).obtain(drawables, maxPx, loaded -> {
+            if (getView() != null) showCardBitmaps(loaded);
+        });
+        if (bitmaps != null) showCardBitmaps(bitmaps);
+    }
+
+    /** Hands the images from requestCardBitmaps() to the adapter (faces first, then the back) */
+    private void showCardBitmaps(Bitmap[] bitmaps) {
+        Bitmap[] faces = new Bitmap[bitmaps.length - 1];
+        System.arraycopy(bitmaps, 0, faces, 0, faces.length);
+        adapter.setCardBitmaps(faces, bitmaps[faces.length]);
     }
 
     /**
      * Called when a card is tapped.
-     * Handles the flip logic and matching comparison.
+     * The deck decides what the flip means; the fragment updates the UI accordingly.
      */
     private void onCardClicked(int position) {
-        // Ignore clicks while comparing two cards
-        if (isComparing) return;
-        // Ignore clicks on already flipped or matched cards
-        if (adapter.isFlipped(position) || adapter.isMatched(position)) return;
+        // The deck ignores taps on face-up cards and while a mismatch is still showing
+        int first = deck.getFirstCard();
+        int result = game.flip(position);  // The ViewModel records accepted flips in the replay
+        if (result == MemoryDeck.FLIP_IGNORED) return;
+        adapter.showFlip(position);
+        if (result == MemoryDeck.FLIP_FIRST) return;
 
-        // Flip the card face up
-        adapter.flipCard(position, true);
-
-        if (firstCard == -1) {
-            // First card selected - remember its position
-            firstCard = position;
-        } else {
-            // Second card selected - compare the pair
-            secondCard = position;
-            moves++;
-
-            // Update the Activity's move counter and start timer on first move
-            if (getActivity() instanceof MemoryMatchActivity) {
-                ((MemoryMatchActivity) getActivity()).updateMoves(moves);
-                if (moves == 1) {
-                    ((MemoryMatchActivity) getActivity()).startTimer();
-                }
+        // Second card of the turn - update the Activity's move counter and start timer on first move
+        int moves = deck.getMoves();
+        if (getActivity() instanceof MemoryMatchActivity) {
+            ((MemoryMatchActivity) getActivity()).updateMoves(moves);
+            if (moves == 1) {
+                ((MemoryMatchActivity) getActivity()).startTimer();
             }
+        }
 
-            // Lock input during comparison
-            isComparing = true;
-
-            if (adapter.getCardFront(firstCard) == adapter.getCardFront(secondCard)) {
-                // MATCH FOUND: Mark both cards as matched
-                adapter.setMatched(firstCard);
-                adapter.setMatched(secondCard);
-                matchedPairs++;
-                resetSelection();
-                isComparing = false;
-
-                // WIN DETECTION: Check if all pairs have been found
-                if (matchedPairs == totalPairs) {
-                    onGameWon();
-                }
-            } else {
-                // NO MATCH: Flip both cards back after 1 second delay
-                // Handler.postDelayed() runs the code after the specified delay
-                handler.postDelayed(() -> {
-                    adapter.flipCard(firstCard, false);
-                    adapter.flipCard(secondCard, false);
-                    resetSelection();
-                    isComparing = false;
-                }, 1000);
+        if (result == MemoryDeck.FLIP_MATCH) {
+            // MATCH FOUND: both cards stay face up and turn green
+            adapter.showMatch(first);
+            adapter.showMatch(position);
+            // WIN DETECTION: the deck counts matched pairs
+            if (deck.isComplete()) {
+                onGameWon();
             }
+        } else {
+            // NO MATCH: Flip both cards back after 1 second delay
+            scheduleHideMismatch(first, position);
         }
     }
 
-    /** Resets the first/second card selection */
-    private void resetSelection() {
-        firstCard = -1;
-        secondCard = -1;
+    /** Turns a mismatched pair back over after FLIP_BACK_DELAY_MS */
+    private void scheduleHideMismatch(int first, int second) {
+        // Handler.postDelayed() runs the code after the specified delay
+        handler.postDelayed(() -> {
+            deck.hideMismatch();
+            adapter.showFlip(first);
+            adapter.showFlip(second);
+        }, FLIP_BACK_DELAY_MS);
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        // The deck outlives this view; a pending flip-back is scheduled again by the next one
+        handler.removeCallbacksAndMessages(null);
     }
 
     /**
@@ -188,12 +238,16 @@ public abstract class BaseMemoryFragment extends Fragment {
     private void onGameWon() {
         if (getActivity() instanceof MemoryMatchActivity) {
             int timeSeconds = ((MemoryMatchActivity) getActivity()).stopTimer();
+            game.markFinished();  // Nothing to resume once the score is handed over
             // EXPLICIT INTENT with EXTRAS: Pass game results to ResultActivity
             Intent intent = new Intent(requireContext(), ResultActivity.class);
             intent.putExtra("GAME_TYPE", "MEMORY");
             intent.putExtra("DIFFICULTY", getDifficulty());
-            intent.putExtra("MOVES", moves);
+            intent.putExtra("MOVES", deck.getMoves());
+            intent.putExtra("CARDS", deck.getCardCount());
             intent.putExtra("TIME_SECONDS", timeSeconds);
+            intent.putExtra("REPLAY", game.getReplay().encode());
+            if (game.isDaily()) intent.putExtra("DAILY_DAY", game.getDailyDay());
             startActivity(intent);
             requireActivity().finish();
         }
@@ -204,27 +258,9 @@ public abstract class BaseMemoryFragment extends Fragment {
         if (adapter != null) {
             // Cancel any pending flip-back callbacks to avoid crashes after reset
             handler.removeCallbacksAndMessages(null);
-            firstCard = -1;
-            secondCard = -1;
-            isComparing = false;
-            moves = 0;
-            matchedPairs = 0;
-
-            // Create a fresh shuffled deck of cards
-            RecyclerView rvBoard = requireView().findViewById(R.id.rvBoard);
-            int gridSize = getGridSize();
-            totalPairs = (gridSize * gridSize) / 2;
-
-            List<Integer> cards = new ArrayList<>();
-            for (int i = 0; i < totalPairs; i++) {
-                cards.add(CARD_FRONTS[i]);
-                cards.add(CARD_FRONTS[i]);
-            }
-            Collections.shuffle(cards);
-
-            adapter = new MemoryCardAdapter(cards);
-            rvBoard.setAdapter(adapter);
-            adapter.setOnCardClickListener(this::onCardClicked);
+            // Deal a fresh shuffled deck into the same arrays and redraw
+            game.restart();
+            adapter.refreshAll();
         }
     }
 }
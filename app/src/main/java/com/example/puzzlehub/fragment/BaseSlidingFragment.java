@@ -1,14 +1,19 @@
 package com.example.puzzlehub.fragment;
 
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
@@ -16,41 +21,90 @@ import com.example.puzzlehub.R;
 import com.example.puzzlehub.ResultActivity;
 import com.example.puzzlehub.SlidingPuzzleActivity;
 import com.example.puzzlehub.adapter.SlideTileAdapter;
+import com.example.puzzlehub.engine.ReductionSolver;
+import com.example.puzzlehub.engine.SlidingBoard;
+import com.example.puzzlehub.engine.SlidingSolver;
+import com.example.puzzlehub.engine.Solver;
+import com.example.puzzlehub.render.SlidingBoardRenderer;
+import com.example.puzzlehub.render.SlidingBoardView;
+import com.example.puzzlehub.viewmodel.SlidingGameViewModel;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * BaseSlidingFragment - Base Fragment for the Sliding Number Puzzle game.
  *
  * FRAGMENT AS REUSABLE UI:
- * This is an abstract base class. Slide3x3Fragment and Slide4x4Fragment extend it.
+ * This is an abstract base class. Slide3x3Fragment, Slide4x4Fragment and
+ * SlideNxNFragment (5×5 up to 10×10) extend it.
  * Each subclass only specifies the grid size - all game logic is shared here.
  *
- * RECYCLERVIEW WITH GRIDLAYOUTMANAGER:
+ * RECYCLERVIEW WITH GRIDLAYOUTMANAGER - OR ONE CANVAS VIEW:
  * The puzzle board uses a RecyclerView with GridLayoutManager.
  * Each tile is an item in the grid. Value 0 represents the empty space.
+ * Subclasses can return true from useBoardView() to draw the board with a single
+ * SlidingBoardView instead (SlideNxNFragment does: 100 tile views are too many for
+ * smooth slides on 10×10). Both implement SlidingBoardRenderer, and this class only
+ * talks to that interface.
+ *
+ * BOARD STORAGE:
+ * The tiles live in a SlidingBoard: one byte per cell (plus a packed long on 3×3/4×4).
+ * Moving a tile is a couple of array writes, so taps never allocate or box Integers.
+ * Neighbors and adjacency come from the shared MoveTable for this grid size, and the
+ * board keeps its misplaced-tile count and Manhattan distance up to date on every move,
+ * so win detection and the "distance to solved" meter are both constant-time.
+ *
+ * HINT AND AUTO-SOLVE (BACKGROUND SOLVER):
+ * The solver runs on this fragment's own background thread so the UI never freezes.
+ * 3×3 and 4×4 boards use the optimal IDA* solver; larger boards use ReductionSolver,
+ * which is not optimal but solves even a 10×10 board in a few milliseconds.
+ * A new request, a tap, a restart or leaving the screen cancels the running search
+ * (Future.cancel(true) interrupts it). Results are only applied if the board has not changed
+ * since the search started.
  *
  * HOW WIN LOGIC WORKS (SLIDING PUZZLE):
- * 1. Board starts shuffled by applying random valid moves from the solved state
- *    (this guarantees the puzzle is always solvable)
+ * 1. Board starts at a pre-generated position whose optimal solution length matches
+ *    the difficulty (see PuzzleGenerator / PuzzlePools), or at a uniformly random
+ *    arrangement whose parity guarantees it is solvable (RandomBoardGenerator)
  * 2. Player taps a tile adjacent to the empty space → tile slides into empty space
  * 3. Board is "solved" when tiles are in order: 1, 2, 3, ..., N, 0 (empty last)
  * 4. Only tiles directly above, below, left, or right of the empty space can move
  * 5. When solved → player wins and navigates to ResultActivity
+ *
+ * REPLAY:
+ * Every player move is recorded (the shuffled board, then one direction per move) and
+ * the encoded Replay goes to ResultActivity, which saves it with the score.
+ *
+ * GAME STATE IN A VIEWMODEL:
+ * The board, move counter and replay live in SlidingGameViewModel (scoped to the
+ * Activity), so rotating the screen redraws the same game instead of shuffling a new
+ * one, and a game interrupted by process death is restored from its snapshot.
+ * An auto-solve that was still playing simply picks up again on the new view.
  */
 public abstract class BaseSlidingFragment extends Fragment {
-    private SlideTileAdapter adapter;
-    private List<Integer> board;    // Board represented as a flat list (0 = empty tile)
-    private int gridSize;           // 3 for 3×3, 4 for 4×4
-    private int moves = 0;
-    private int emptyPos;           // Position of the empty tile (value 0)
+    private SlidingBoardRenderer renderer;  // SlideTileAdapter or SlidingBoardView
+    private SlidingGameViewModel game;  // Board, moves and replay (outlives this view)
+    private SlidingBoard board;         // game.getBoard(), the same object until Restart
+    private int gridSize;               // 3 for 3×3 ... 10 for 10×10
+
+    // Background solver for Hint / Auto-solve
+    private static final long AUTO_SOLVE_STEP_MS = 300;
+    private static final long AUTO_SOLVE_MIN_STEP_MS = 40;      // Long (large-board) solutions play faster
+    private static final long AUTO_SOLVE_TARGET_TOTAL_MS = 30_000;
+    private final ExecutorService solverExecutor = Executors.newSingleThreadExecutor();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private Future<?> pendingSolve;
 
     // Subclasses must implement these
-    protected abstract int getGridSize();       // 3 or 4
-    protected abstract String getDifficulty();  // "3x3" or "4x4"
+    protected abstract int getGridSize();       // 3 ... 10
+    protected abstract String getDifficulty();  // "3x3", "4x4", ... "10x10"
+
+    /** True to draw the board with SlidingBoardView instead of a RecyclerView */
+    protected boolean useBoardView() {
+        return false;
+    }
 
     @Nullable
     @Override
@@ -63,66 +117,38 @@ public abstract class BaseSlidingFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
         gridSize = getGridSize();
-        RecyclerView rvBoard = view.findViewById(R.id.rvBoard);
 
-        // Initialize the board in solved state, then shuffle it
-        initBoard();
-        shuffleBoard();
+        // Same game after a rotation; a restored or newly shuffled one otherwise
+        game = new ViewModelProvider(requireActivity()).get(SlidingGameViewModel.class);
+        game.startOrResume(getDifficulty(), gridSize);
+        board = game.getBoard();
 
-        // Set up RecyclerView with GridLayoutManager
-        adapter = new SlideTileAdapter(board);
-        rvBoard.setLayoutManager(new GridLayoutManager(requireContext(), gridSize));
-        rvBoard.setAdapter(adapter);
-
-        adapter.setOnTileClickListener(this::onTileClicked);
-    }
-
-    /**
-     * Initializes the board in the solved state.
-     * For a 3×3 board: [1, 2, 3, 4, 5, 6, 7, 8, 0]
-     * The 0 represents the empty space (always starts at the last position).
-     */
-    private void initBoard() {
-        board = new ArrayList<>();
-        int total = gridSize * gridSize;
-        for (int i = 1; i < total; i++) {
-            board.add(i);
+        RecyclerView rvBoard = view.findViewById(R.id.rvBoard);
+        if (useBoardView()) {
+            // One custom view draws every tile
+            SlidingBoardView boardView = view.findViewById(R.id.boardView);
+            rvBoard.setVisibility(View.GONE);
+            boardView.setVisibility(View.VISIBLE);
+            boardView.setBoard(board);
+            renderer = boardView;
+        } else {
+            // Set up RecyclerView with GridLayoutManager
+            SlideTileAdapter adapter = new SlideTileAdapter(board);
+            rvBoard.setLayoutManager(new GridLayoutManager(requireContext(), gridSize));
+            rvBoard.setAdapter(adapter);
+            renderer = adapter;
         }
-        board.add(0);  // Empty tile at the end
-        emptyPos = total - 1;
-    }
 
-    /**
-     * Shuffles the board by applying random valid moves from the solved state.
-     * This guarantees the puzzle is always solvable (unlike random shuffling
-     * which could create an unsolvable configuration).
-     */
-    private void shuffleBoard() {
-        Random random = new Random();
-        int shuffleMoves = gridSize == 3 ? 100 : 200;
-        for (int i = 0; i < shuffleMoves; i++) {
-            // Get all valid neighbors of the empty tile
-            List<Integer> neighbors = getNeighbors(emptyPos);
-            // Pick a random neighbor and swap it with the empty tile
-            int randomNeighbor = neighbors.get(random.nextInt(neighbors.size()));
-            Collections.swap(board, emptyPos, randomNeighbor);
-            emptyPos = randomNeighbor;
+        renderer.setOnTileClickListener(this::onTileClicked);
+        publishDistance();
+        if (getActivity() instanceof SlidingPuzzleActivity) {
+            ((SlidingPuzzleActivity) getActivity()).onGameShown();
         }
-    }
 
-    /**
-     * Gets the positions of all tiles adjacent to the given position.
-     * A tile is adjacent if it's directly above, below, left, or right.
-     */
-    private List<Integer> getNeighbors(int pos) {
-        List<Integer> neighbors = new ArrayList<>();
-        int row = pos / gridSize;
-        int col = pos % gridSize;
-        if (row > 0) neighbors.add(pos - gridSize);        // Above
-        if (row < gridSize - 1) neighbors.add(pos + gridSize);  // Below
-        if (col > 0) neighbors.add(pos - 1);                // Left
-        if (col < gridSize - 1) neighbors.add(pos + 1);     // Right
-        return neighbors;
+        // An auto-solve interrupted by the rotation: solve again from here and keep playing
+        if (game.isAutoSolving() && !board.isSolved()) {
+            requestSolution(true);
+        }
     }
 
     /**
@@ -130,47 +156,43 @@ public abstract class BaseSlidingFragment extends Fragment {
      * Only moves the tile if it's adjacent to the empty space.
      */
     private void onTileClicked(int position) {
-        // Only allow moving tiles adjacent to the empty space
-        if (!isAdjacentToEmpty(position)) return;
+        // The board belongs to the auto-solver while it plays (and after it finishes)
+        if (game.isAutoSolving()) return;
+        // Only allow moving tiles adjacent to the empty space (one table lookup)
+        if (!board.canMove(position)) return;
 
-        // Swap the tapped tile with the empty space
-        Collections.swap(board, position, emptyPos);
-        emptyPos = position;
-        moves++;
+        // Any hint (or hint still being computed) is stale once the player moves
+        cancelSolver();
+        renderer.setHintPosition(SlidingBoardRenderer.NO_HINT);
+
+        // Slide the tapped tile into the empty space (the ViewModel records it in the replay)
+        int emptyPos = game.moveTile(position);
+        int moves = game.getMoves();
 
         // Update the Activity's move counter and start timer on first move
         if (getActivity() instanceof SlidingPuzzleActivity) {
             ((SlidingPuzzleActivity) getActivity()).updateMoves(moves);
+            publishDistance();
             if (moves == 1) {
                 ((SlidingPuzzleActivity) getActivity()).startTimer();
             }
         }
 
-        // Refresh the display
-        adapter.updateTiles(board);
+        // Animate just the two cells that changed
+        renderer.onTileMoved(position, emptyPos);
 
-        // WIN DETECTION: Check if the puzzle is solved
-        if (isSolved()) {
+        // WIN DETECTION: Check if the puzzle is solved (constant-time counter check)
+        if (board.isSolved()) {
             onGameWon();
         }
     }
 
-    /** Checks if the given position is adjacent to the empty tile */
-    private boolean isAdjacentToEmpty(int position) {
-        List<Integer> neighbors = getNeighbors(emptyPos);
-        return neighbors.contains(position);
-    }
-
-    /**
-     * Checks if the board is in the solved state.
-     * Solved means: [1, 2, 3, ..., N-1, 0] where 0 is the last tile.
-     */
-    private boolean isSolved() {
-        int total = gridSize * gridSize;
-        for (int i = 0; i < total - 1; i++) {
-            if (board.get(i) != i + 1) return false;
+    /** Sends the live "distance to solved" value to the Activity's meter */
+    private void publishDistance() {
+        if (getActivity() instanceof SlidingPuzzleActivity) {
+            ((SlidingPuzzleActivity) getActivity())
+                    .updateDistance(board.getManhattanDistance(), game.getInitialDistance());
         }
-        return board.get(total - 1) == 0;
     }
 
     /**
@@ -180,24 +202,136 @@ public abstract class BaseSlidingFragment extends Fragment {
     private void onGameWon() {
         if (getActivity() instanceof SlidingPuzzleActivity) {
             int timeSeconds = ((SlidingPuzzleActivity) getActivity()).stopTimer();
+            game.markFinished();  // Nothing to resume once the score is handed over
             // EXPLICIT INTENT with EXTRAS: Pass game results to ResultActivity
             Intent intent = new Intent(requireContext(), ResultActivity.class);
             intent.putExtra("GAME_TYPE", "SLIDE");
             intent.putExtra("DIFFICULTY", getDifficulty());
-            intent.putExtra("MOVES", moves);
+            intent.putExtra("MOVES", game.getMoves());
             intent.putExtra("TIME_SECONDS", timeSeconds);
+            intent.putExtra("REPLAY", game.getReplay().encode());
+            if (game.isDaily()) intent.putExtra("DAILY_DAY", game.getDailyDay());
             startActivity(intent);
             requireActivity().finish();
         }
     }
 
+    /** Highlights the next tile of an optimal solution (computed in the background) */
+    public void showHint() {
+        requestSolution(false);
+    }
+
+    /** Plays out an optimal solution tile by tile (computed in the background) */
+    public void autoSolve() {
+        requestSolution(true);
+    }
+
+    /** Starts a background solve of the current board */
+    private void requestSolution(boolean playOut) {
+        // While auto-solving only a re-solve after rotation may start (see onViewCreated)
+        if (board == null || board.isSolved() || (game.isAutoSolving() && !playOut)) return;
+        cancelSolver();
+        // The solver works on its own copy; the live board stays on the main thread
+        final SlidingBoard snapshot = new SlidingBoard(board);
+        final Context appContext = requireContext().getApplicationContext();
+        setSolverBusy(true);
+        pendingSolve = solverExecutor.submit(() -> {
+            int[] solution = snapshot.isPacked()
+                    ? createSolver(appContext).solve(snapshot.getState())
+                    : new ReductionSolver(snapshot.getSize()).solve(snapshot);
+            if (solution == null) return;  // Cancelled
+            handler.post(() -> onSolutionReady(snapshot, solution, playOut));
+        });
+    }
+
+    /**
+     * Creates the optimal solver used for 3×3 and 4×4 hints. Called on the solver
+     * thread, so subclasses may load extra data here (Slide4x4Fragment maps its
+     * pattern database).
+     */
+    protected Solver createSolver(Context appContext) {
+        return new SlidingSolver(gridSize);
+    }
+
+    /** Runs on the main thread when the background solver finishes */
+    private void onSolutionReady(SlidingBoard snapshot, int[] solution, boolean playOut) {
+        pendingSolve = null;
+        setSolverBusy(false);
+        // Ignore results for a board the player has already changed
+        if (!isAdded() || !board.equals(snapshot) || solution.length == 0) return;
+
+        if (playOut) {
+            game.setAutoSolving(true);
+            setSolverBusy(true);
+            renderer.setHintPosition(SlidingBoardRenderer.NO_HINT);
+            // Keep playback of long (large-board) solutions to about half a minute
+            long stepMs = Math.max(AUTO_SOLVE_MIN_STEP_MS,
+                    Math.min(AUTO_SOLVE_STEP_MS, AUTO_SOLVE_TARGET_TOTAL_MS / solution.length));
+            playSolution(solution, 0, stepMs);
+        } else {
+            renderer.setHintPosition(solution[0]);
+        }
+    }
+
+    /** Slides one tile of the solution every stepMs until the board is solved */
+    private void playSolution(int[] solution, int index, long stepMs) {
+        handler.postDelayed(() -> {
+            int emptyPos = board.getEmptyPos();
+            board.moveTile(solution[index]);
+            renderer.onTileMoved(solution[index], emptyPos);
+            publishDistance();
+            if (index + 1 < solution.length) {
+                playSolution(solution, index + 1, stepMs);
+            } else {
+                // Auto-solved games are a demo - stop the timer but don't record a result.
+                // The ViewModel stays in auto-solve mode, so the solved board is locked until Restart.
+                setSolverBusy(false);
+                if (getActivity() instanceof SlidingPuzzleActivity) {
+                    ((SlidingPuzzleActivity) getActivity()).stopTimer();
+                }
+                Toast.makeText(requireContext(), R.string.auto_solve_done, Toast.LENGTH_LONG).show();
+            }
+        }, stepMs);
+    }
+
+    /**
+     * Cancels a running solve and any auto-solve playback. The ViewModel's auto-solve
+     * flag is left alone, so a rotation in the middle of auto-solve can resume it.
+     */
+    private void cancelSolver() {
+        if (pendingSolve != null) {
+            pendingSolve.cancel(true);
+            pendingSolve = null;
+        }
+        handler.removeCallbacksAndMessages(null);
+        setSolverBusy(false);
+    }
+
+    private void setSolverBusy(boolean busy) {
+        if (getActivity() instanceof SlidingPuzzleActivity) {
+            ((SlidingPuzzleActivity) getActivity()).setSolverBusy(busy);
+        }
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        cancelSolver();
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        solverExecutor.shutdownNow();
+    }
+
     /** Resets the game board for a new game */
     public void resetGame() {
-        moves = 0;
-        initBoard();
-        shuffleBoard();
-        if (adapter != null) {
-            adapter.updateTiles(board);
-        }
+        cancelSolver();
+        // Clear the hint while its tile is still in the hinted cell
+        if (renderer != null) renderer.setHintPosition(SlidingBoardRenderer.NO_HINT);
+        game.restart();  // Reshuffles the same board object, so the renderer keeps working
+        if (renderer != null) renderer.updateTiles();
+        publishDistance();
     }
 }
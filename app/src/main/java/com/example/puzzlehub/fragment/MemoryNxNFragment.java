@@ -0,0 +1,38 @@
+package com.example.puzzlehub.fragment;
+
+import android.os.Bundle;
+
+import java.util.Locale;
+
+/**
+ * MemoryNxNFragment - Large Memory Match boards: 8×8 (32 pairs) and 10×10 (50 pairs).
+ *
+ * FRAGMENT ARGUMENTS:
+ * Like SlideNxNFragment, the grid size is stored in the fragment's arguments Bundle,
+ * which Android keeps when it re-creates the fragment (e.g. after rotation).
+ *
+ * These boards have more pairs than the 18 hand-drawn card faces; the base class shows
+ * the rest from a procedurally generated CardFaceAtlas.
+ */
+public class MemoryNxNFragment extends BaseMemoryFragment {
+    private static final String ARG_SIZE = "size";
+
+    public static MemoryNxNFragment newInstance(int size) {
+        MemoryNxNFragment fragment = new MemoryNxNFragment();
+        Bundle args = new Bundle();
+        args.putInt(ARG_SIZE, size);
+        fragment.setArguments(args);
+        return fragment;
+    }
+
+    @Override
+    protected int getGridSize() {
+        return requireArguments().getInt(ARG_SIZE, 8);
+    }
+
+    @Override
+    protected String getDifficulty() {
+        int size = getGridSize();
+        return String.format(Locale.US, "%dx%d", size, size);
+    }
+}
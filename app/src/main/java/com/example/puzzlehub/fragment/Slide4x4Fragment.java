@@ -1,12 +1,27 @@
 package com.example.puzzlehub.fragment;
 
+import android.content.Context;
+import android.util.Log;
+
+import com.example.puzzlehub.engine.ParallelSlidingSolver;
+import com.example.puzzlehub.engine.Solver;
+import com.example.puzzlehub.solver.PatternDatabaseAsset;
+
+import java.io.IOException;
+
 /**
  * Slide4x4Fragment - 4×4 Sliding Number Puzzle (15 tiles + 1 empty).
  *
  * Extends BaseSlidingFragment with grid size 4.
  * More challenging than 3×3 due to more tiles.
+ *
+ * Hard 4×4 boards are too slow to solve with Manhattan distance alone, so this
+ * fragment's solver also uses the memory-mapped 6-6-3 pattern database, and splits
+ * the search across all CPU cores with ParallelSlidingSolver.
  */
 public class Slide4x4Fragment extends BaseSlidingFragment {
+    private static final String TAG = "Slide4x4Fragment";
+
     public static Slide4x4Fragment newInstance() {
         return new Slide4x4Fragment();
     }
@@ -20,4 +35,15 @@ public class Slide4x4Fragment extends BaseSlidingFragment {
     protected String getDifficulty() {
         return "4x4";
     }
+
+    @Override
+    protected Solver createSolver(Context appContext) {
+        try {
+            return new ParallelSlidingSolver(4, PatternDatabaseAsset.get(appContext));
+        } catch (IOException e) {
+            // Still correct without the database, just slower on hard boards
+            Log.w(TAG, "Pattern database unavailable, using Manhattan distance only", e);
+            return super.createSolver(appContext);
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.puzzlehub.fragment;
+
+import android.os.Bundle;
+
+import java.util.Locale;
+
+/**
+ * SlideNxNFragment - Large Sliding Number Puzzles, from 5×5 up to 10×10.
+ *
+ * FRAGMENT ARGUMENTS:
+ * Unlike Slide3x3Fragment and Slide4x4Fragment, the grid size is not fixed in code.
+ * newInstance(size) stores it in the fragment's arguments Bundle, which Android keeps
+ * when it re-creates the fragment (e.g. after rotation) - a constructor parameter
+ * would be lost.
+ *
+ * Optimal solving is impossible at these sizes, so hints and auto-solve use the
+ * base class's ReductionSolver path automatically.
+ *
+ * The board is drawn by one SlidingBoardView rather than a RecyclerView of up to 100
+ * tile views, so slides stay smooth on 10×10 (see useBoardView()).
+ */
+public class SlideNxNFragment extends BaseSlidingFragment {
+    private static final String ARG_SIZE = "size";
+
+    public static SlideNxNFragment newInstance(int size) {
+        SlideNxNFragment fragment = new SlideNxNFragment();
+        Bundle args = new Bundle();
+        args.putInt(ARG_SIZE, size);
+        fragment.setArguments(args);
+        return fragment;
+    }
+
+    @Override
+    protected int getGridSize() {
+        return requireArguments().getInt(ARG_SIZE, 5);
+    }
+
+    @Override
+    protected boolean useBoardView() {
+        return true;
+    }
+
+    @Override
+    protected String getDifficulty() {
+        int size = getGridSize();
+        return String.format(Locale.US, "%dx%d", size, size);
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.puzzlehub.render;
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.appcompat.content.res.AppCompatResources;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * CardBitmapCache - Memory Match card images (the vector drawables) rasterized once
+ * at the size they are shown, and shared by every card that shows them.
+ *
+ * WHY:
+ * setImageResource() on a vector drawable inflates its XML and draws its paths again
+ * for every bind, i.e. on every flip. Here each vector is drawn into a Bitmap once, on
+ * a background thread when a game starts; binding then only hands that Bitmap to the
+ * ImageView (which reuses its own BitmapDrawable), so flips never parse or rasterize
+ * vectors on the UI thread.
+ *
+ * LRU CACHE BOUNDED BY MEMORY CLASS:
+ * Bitmaps are kept in an LruCache keyed by drawable and pixel size, so a rotation or
+ * the next game of the same size finds them ready. The cache may hold up to 1/8 of the
+ * app's memory class (the per-app heap budget of this device, e.g. 32 MB of 256 MB) -
+ * far more than a board needs (19 images of 48dp are ~0.5 MB at 3x density), so in
+ * practice it only evicts after many different board sizes.
+ *
+ * RELEASED ON onTrimMemory:
+ * The cache registers itself for the app's ComponentCallbacks2. When the app goes to
+ * the background (or memory runs low) it drops its entries - and the procedural
+ * CardFaceAtlas too. Evicted bitmaps are not recycle()d: a visible board may still
+ * show them, and the garbage collector frees them once no card uses them any more.
+ */
+public final class CardBitmapCache implements ComponentCallbacks2 {
+    /** Receives the bitmaps on the main thread, in the order of the requested drawables */
+    public interface OnLoadedListener {
+        void onLoaded(Bitmap[] bitmaps);
+    }
+
+    private static CardBitmapCache instance;
+
+    private final Context appContext;
+    private final LruCache<String, Bitmap> cache;
+    private final Handler main = new Handler(Looper.getMainLooper());
+    // One thread is plenty for a few small images and keeps requests in order
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CardBitmapCache");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private CardBitmapCache(Context appContext) {
+        this.appContext = appContext;
+        ActivityManager am = (ActivityManager) appContext.getSystemService(Context.ACTIVITY_SERVICE);
+        int maxBytes = am.getMemoryClass() * 1024 * 1024 / 8;
+        cache = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+        appContext.registerComponentCallbacks(this);
+    }
+
+    public static synchronized CardBitmapCache get(Context context) {
+        if (instance == null) instance = new CardBitmapCache(context.getApplicationContext());
+        return instance;
+    }
+
+    /**
+     * Returns the drawables rasterized to fit maxPx (never above their own size) if they
+     * are all cached. Otherwise returns null, rasterizes them on the background thread
+     * and passes them to listener on the main thread.
+     */
+    @Nullable
+    public Bitmap[] obtain(int[] drawableIds, int maxPx, OnLoadedListener listener) {
+        Bitmap[] bitmaps = new Bitmap[drawableIds.length];
+        boolean complete = true;
+        for (int i = 0; i < drawableIds.length && complete; i++) {
+            bitmaps[i] = cache.get(key(drawableIds[i], maxPx));
+            complete = bitmaps[i] != null;
+        }
+        if (complete) return bitmaps;
+
+        int[] ids = drawableIds.clone();
+        worker.execute(() -> {
+            Bitmap[] loaded = new Bitmap[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                String key = key(ids[i], maxPx);
+                loaded[i] = cache.get(key);
+                if (loaded[i] == null) {
+                    loaded[i] = rasterize(ids[i], maxPx);
+                    cache.put(key, loaded[i]);
+                }
+            }
+            main.post(() -> listener.onLoaded(loaded));
+        });
+        return null;
+    }
+
+    /** Draws a (vector) drawable into a new bitmap, scaled down to fit maxPx if needed */
+    private Bitmap rasterize(int drawableId, int maxPx) {
+        Drawable drawable = AppCompatResources.getDrawable(appContext, drawableId);
+        int width = Math.max(1, drawable.getIntrinsicWidth());
+        int height = Math.max(1, drawable.getIntrinsicHeight());
+        float scale = Math.min(1f, (float) maxPx / Math.max(width, height));
+        width = Math.max(1, Math.round(width * scale));
+        height = Math.max(1, Math.round(height * scale));
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        drawable.setBounds(0, 0, width, height);
+        drawable.draw(new Canvas(bitmap));
+        return bitmap;
+    }
+
+    private static String key(int drawableId, int px) {
+        return drawableId + "@" + px;
+    }
+
+    // ---- ComponentCallbacks2 ----
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+            // Nearly out of memory, or in the background where no card is being shown
+            cache.evictAll();
+            CardFaceAtlas.release();
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            cache.trimToSize(cache.maxSize() / 2);
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        cache.evictAll();
+        CardFaceAtlas.release();
+    }
+
+    @Override
+    public void onConfigurationChanged(@NonNull Configuration newConfig) {
+        // Sizes are part of the key, so a new configuration needs nothing here
+    }
+}
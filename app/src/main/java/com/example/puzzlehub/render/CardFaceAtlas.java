@@ -0,0 +1,285 @@
+package com.example.puzzlehub.render;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CardFaceAtlas - Procedurally drawn card faces for boards with more pairs than there
+ * are hand-drawn vectors, all packed into one shared bitmap.
+ *
+ * PROCEDURAL FACES (shape × color × pattern):
+ * Face k is drawn with shape k % 5, color COLORS[k % 7] and pattern k % 4. Because
+ * 5, 7 and 4 have no common factor, the first 5·7·4 = 140 faces are all different
+ * combinations (Chinese remainder theorem), and two neighboring faces never share a
+ * shape, a color or a pattern - so similar-looking cards are spread far apart.
+ *
+ * TEXTURE ATLAS:
+ * Every face is rendered once into its own cell of a single Bitmap. A card shows its
+ * face through a FaceDrawable, which just copies that cell to the screen - no paths
+ * are built and no bitmaps are created while dealing, flipping or scrolling.
+ *
+ * OFF THE MAIN THREAD:
+ * obtain() returns the atlas if one with enough faces at that size exists; otherwise
+ * it renders one on a background thread and calls onReady on the main thread when it
+ * is done. Only the atlas of the current size is kept, so a rotation or a new game of
+ * the same board reuses it; it is dropped in onTrimMemory (see CardBitmapCache).
+ */
+public final class CardFaceAtlas {
+    /** Number of distinct procedural faces (5 shapes × 7 colors × 4 patterns) */
+    public static final int MAX_FACES = 140;
+
+    private static final int SHAPE_COUNT = 5;   // Circle, square, triangle, diamond, star
+    private static final int PATTERN_COUNT = 4; // Solid, stripes, dots, ring
+    private static final int[] COLORS = {
+            0xFFE53935, 0xFFFB8C00, 0xFFFDD835, 0xFF43A047,
+            0xFF1E88E5, 0xFF8E24AA, 0xFF00897B
+    };
+
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+    private static CardFaceAtlas current;             // Guarded by CardFaceAtlas.class
+    private static Thread worker;                      // Guarded by CardFaceAtlas.class
+    private static int pendingFaces;                   // What worker is rendering
+    private static int pendingCellPx;
+    private static final List<Runnable> waiting = new ArrayList<>();  // Guarded by CardFaceAtlas.class
+
+    private final Bitmap bitmap;
+    private final int faceCount;
+    private final int cellPx;
+    private final int columns;
+
+    private CardFaceAtlas(int faceCount, int cellPx) {
+        this.faceCount = faceCount;
+        this.cellPx = cellPx;
+        this.columns = (int) Math.ceil(Math.sqrt(faceCount));
+        int rows = (faceCount + columns - 1) / columns;
+        bitmap = Bitmap.createBitmap(columns * cellPx, rows * cellPx, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        Painter painter = new Painter(cellPx);
+        for (int face = 0; face < faceCount; face++) {
+            canvas.save();
+            canvas.translate((face % columns) * cellPx, (face / columns) * cellPx);
+            painter.draw(canvas, face);
+            canvas.restore();
+        }
+    }
+
+    /**
+     * Returns an atlas with at least `faces` faces drawn at cellPx, or null if it still
+     * has to be rendered - then onReady runs on the main thread once it is available.
+     */
+    @Nullable
+    public static synchronized CardFaceAtlas obtain(int faces, int cellPx, Runnable onReady) {
+        if (faces > MAX_FACES) throw new IllegalArgumentException("At most " + MAX_FACES + " faces: " + faces);
+        if (current != null && current.faceCount >= faces && current.cellPx == cellPx) return current;
+        waiting.add(onReady);
+        if (worker != null && pendingFaces >= faces && pendingCellPx == cellPx) return null;  // Already on it
+
+        pendingFaces = faces;
+        pendingCellPx = cellPx;
+        Thread thread = new Thread(() -> {
+            CardFaceAtlas atlas = new CardFaceAtlas(faces, cellPx);
+            List<Runnable> ready;
+            synchronized (CardFaceAtlas.class) {
+                if (worker != Thread.currentThread()) return;  // Superseded by a newer request
+                current = atlas;
+                worker = null;
+                ready = new ArrayList<>(waiting);
+                waiting.clear();
+            }
+            for (Runnable callback : ready) MAIN.post(callback);
+        }, "CardFaceAtlas");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+        return null;
+    }
+
+    /**
+     * Forgets the kept atlas (called by CardBitmapCache.onTrimMemory). Boards on screen
+     * keep drawing the one they have; the next obtain() renders a new one.
+     */
+    public static synchronized void release() {
+        current = null;
+    }
+
+    public int getFaceCount() {
+        return faceCount;
+    }
+
+    /**
+     * Shows one face of an atlas in an ImageView. A card keeps one FaceDrawable and only
+     * changes its face when it is rebound.
+     */
+    public static final class FaceDrawable extends Drawable {
+        private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        private final Rect src = new Rect();
+        private CardFaceAtlas atlas;
+
+        public void setFace(@NonNull CardFaceAtlas atlas, int face) {
+            this.atlas = atlas;
+            int left = (face % atlas.columns) * atlas.cellPx;
+            int top = (face / atlas.columns) * atlas.cellPx;
+            src.set(left, top, left + atlas.cellPx, top + atlas.cellPx);
+            invalidateSelf();
+        }
+
+        @Override
+        public void draw(@NonNull Canvas canvas) {
+            if (atlas != null) canvas.drawBitmap(atlas.bitmap, src, getBounds(), paint);
+        }
+
+        @Override
+        public int getIntrinsicWidth() {
+            return atlas != null ? atlas.cellPx : -1;
+        }
+
+        @Override
+        public int getIntrinsicHeight() {
+            return atlas != null ? atlas.cellPx : -1;
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            paint.setAlpha(alpha);
+            invalidateSelf();
+        }
+
+        @Override
+        public void setColorFilter(@Nullable ColorFilter colorFilter) {
+            paint.setColorFilter(colorFilter);
+            invalidateSelf();
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+
+    /** Draws faces into a cellPx square at the canvas origin (used on the worker thread) */
+    private static final class Painter {
+        private final float size;
+        private final Paint fill = new Paint(Paint.ANTI_ALIAS_FLAG);
+        private final Paint stroke = new Paint(Paint.ANTI_ALIAS_FLAG);
+        private final Path path = new Path();
+        private final RectF bounds = new RectF();
+
+        Painter(int cellPx) {
+            this.size = cellPx;
+            stroke.setStyle(Paint.Style.STROKE);
+        }
+
+        void draw(Canvas canvas, int face) {
+            int color = COLORS[face % COLORS.length];
+            buildShape(face % SHAPE_COUNT);
+            switch (face % PATTERN_COUNT) {
+                case 0:  // Solid
+                    fill.setColor(color);
+                    canvas.drawPath(path, fill);
+                    break;
+                case 1:  // Diagonal stripes on a pale background
+                    drawPaleBackground(canvas, color);
+                    canvas.save();
+                    canvas.clipPath(path);
+                    stroke.setColor(color);
+                    stroke.setStrokeWidth(size * 0.06f);
+                    for (float x = -size; x < size; x += size * 0.14f) {
+                        canvas.drawLine(x, size, x + size, 0, stroke);
+                    }
+                    canvas.restore();
+                    outline(canvas, color);
+                    break;
+                case 2:  // Dots on a pale background
+                    drawPaleBackground(canvas, color);
+                    canvas.save();
+                    canvas.clipPath(path);
+                    fill.setColor(color);
+                    float step = size * 0.16f;
+                    for (float y = step / 2; y < size; y += step) {
+                        for (float x = step / 2; x < size; x += step) {
+                            canvas.drawCircle(x, y, size * 0.045f, fill);
+                        }
+                    }
+                    canvas.restore();
+                    outline(canvas, color);
+                    break;
+                default:  // Ring: thick outline with a center dot
+                    stroke.setColor(color);
+                    stroke.setStrokeWidth(size * 0.09f);
+                    canvas.drawPath(path, stroke);
+                    fill.setColor(color);
+                    canvas.drawCircle(size / 2, size * 0.54f, size * 0.09f, fill);
+                    break;
+            }
+        }
+
+        private void drawPaleBackground(Canvas canvas, int color) {
+            fill.setColor((color & 0x00FFFFFF) | 0x40000000);  // 25% opacity
+            canvas.drawPath(path, fill);
+        }
+
+        private void outline(Canvas canvas, int color) {
+            stroke.setColor(color);
+            stroke.setStrokeWidth(size * 0.05f);
+            canvas.drawPath(path, stroke);
+        }
+
+        /** Fills `path` with the shape, inset from the cell edges */
+        private void buildShape(int shape) {
+            float inset = size * 0.14f;
+            float min = inset;
+            float max = size - inset;
+            float mid = size / 2;
+            path.reset();
+            switch (shape) {
+                case 0:
+                    path.addCircle(mid, mid, mid - inset, Path.Direction.CW);
+                    break;
+                case 1:
+                    bounds.set(min, min, max, max);
+                    path.addRoundRect(bounds, size * 0.08f, size * 0.08f, Path.Direction.CW);
+                    break;
+                case 2:
+                    path.moveTo(mid, min);
+                    path.lineTo(max, max);
+                    path.lineTo(min, max);
+                    path.close();
+                    break;
+                case 3:
+                    path.moveTo(mid, min);
+                    path.lineTo(max, mid);
+                    path.lineTo(mid, max);
+                    path.lineTo(min, mid);
+                    path.close();
+                    break;
+                default:  // Five-pointed star
+                    float outer = mid - inset;
+                    float inner = outer * 0.45f;
+                    for (int i = 0; i < 10; i++) {
+                        double angle = Math.PI / 5 * i - Math.PI / 2;
+                        float r = (i & 1) == 0 ? outer : inner;
+                        float x = mid + (float) (Math.cos(angle) * r);
+                        float y = mid + size * 0.04f + (float) (Math.sin(angle) * r);
+                        if (i == 0) path.moveTo(x, y); else path.lineTo(x, y);
+                    }
+                    path.close();
+                    break;
+            }
+        }
+    }
+}
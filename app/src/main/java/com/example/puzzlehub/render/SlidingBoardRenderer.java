@@ -0,0 +1,34 @@
+package com.example.puzzlehub.render;
+
+/**
+ * SlidingBoardRenderer - What BaseSlidingFragment needs from whatever draws the board.
+ *
+ * Two implementations exist:
+ * - SlideTileAdapter: a RecyclerView grid with one TextView per tile (3×3 and 4×4)
+ * - SlidingBoardView: one custom View that draws every tile itself (5×5 up to 10×10)
+ * Both read the tiles straight from the fragment's SlidingBoard; the fragment moves
+ * tiles on the board and then tells the renderer what changed.
+ */
+public interface SlidingBoardRenderer {
+    /** setHintPosition() value that clears the hint (same as RecyclerView.NO_POSITION) */
+    int NO_HINT = -1;
+
+    /** Interface for handling tile click events */
+    interface OnTileClickListener {
+        void onTileClick(int position);
+    }
+
+    void setOnTileClickListener(OnTileClickListener listener);
+
+    /**
+     * The tile that was at "from" is now in the cell "to" (the old empty cell).
+     * Call this after SlidingBoard.moveTile(from).
+     */
+    void onTileMoved(int from, int to);
+
+    /** Redraws the whole board after it was replaced (new game, restart) */
+    void updateTiles();
+
+    /** Highlights one tile as the suggested next move (NO_HINT clears the hint) */
+    void setHintPosition(int position);
+}
@@ -0,0 +1,357 @@
+package com.example.puzzlehub.render;
+
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RecordingCanvas;
+import android.graphics.RenderNode;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.animation.DecelerateInterpolator;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+import androidx.core.content.ContextCompat;
+
+import com.example.puzzlehub.R;
+import com.example.puzzlehub.engine.SlidingBoard;
+
+/**
+ * SlidingBoardView - The whole sliding puzzle board as ONE View, drawn in one onDraw().
+ *
+ * WHY NOT A RECYCLERVIEW HERE?
+ * A 10×10 board in a RecyclerView is 100 inflated TextViews, each measured, laid out and
+ * bound, plus item animations for every move. This view has no children: it draws each
+ * tile as a rounded rectangle with its number, hit-tests taps itself (cell = x / cellSize),
+ * and only invalidates - never re-lays out - when a tile moves.
+ *
+ * CACHED TEXT:
+ * The label of every tile ("1" ... "99") and its measured width are built once per
+ * board size, so drawing a frame allocates nothing and measures no text.
+ *
+ * RENDERNODE TILES (API 29+):
+ * Each tile is recorded once into its own RenderNode (a display list), and one board
+ * RenderNode draws all of them. A tile's place on the board is only a property of its
+ * node (translationX/Y), so neither the tiles nor the board are re-recorded when a tile
+ * moves; onDraw() just draws the board node. A slide is a short ValueAnimator that moves
+ * the one sliding node: per frame the main thread writes two floats and issues that one
+ * drawRenderNode() call, however large the board is, and the RenderThread replays the
+ * recorded display lists. (The animator itself still ticks on the main thread: the
+ * public API has no RenderThread animator for app-created RenderNodes.)
+ * Older devices, and software canvases, draw every tile directly in onDraw().
+ */
+public class SlidingBoardView extends View implements SlidingBoardRenderer {
+    private static final long SLIDE_MS = 100;
+    private static final int FULL_SIZE_GRID = 4;      // Largest grid drawn with full-size text
+    private static final float TEXT_SIZE_SP = 24;     // Same as item_slide_tile.xml
+    private static final float CORNER_DP = 16;
+    private static final float GAP_DP = 4;            // Space around each tile
+    private static final float HINT_STROKE_DP = 3;
+
+    private final Paint tilePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint hintPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint hintStrokePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final ValueAnimator slideAnimator = ValueAnimator.ofFloat(0f, 1f);
+
+    private SlidingBoard board;
+    private OnTileClickListener listener;
+    private int hintPosition = NO_HINT;
+    private int hintValue;                           // Tile shown as the hint (0 = none)
+
+    // Geometry, recomputed when the size or the board changes
+    private float cellSize;
+    private float gap;
+    private float corner;
+    private float textBaseline;                      // From the top of a tile
+    private String[] labels = new String[0];         // labels[value], cached text
+    private float[] labelWidths = new float[0];
+    private RenderNode[] tileNodes;                  // API 29+: tileNodes[value], recorded once
+    private RenderNode boardNode;                    // API 29+: draws every tile node
+
+    // The tile currently sliding: it is drawn between slideFrom and its board position
+    private int slideValue;                          // 0 = none
+    private int slideTo = -1;
+    private int slideFrom = -1;
+    private float slideFraction = 1f;
+    private int downCell = -1;                       // Cell under ACTION_DOWN
+
+    public SlidingBoardView(Context context) {
+        this(context, null);
+    }
+
+    public SlidingBoardView(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+        tilePaint.setColor(ContextCompat.getColor(context, R.color.tile_color));
+        hintPaint.setColor(ContextCompat.getColor(context, R.color.purple_700));
+        hintStrokePaint.setColor(ContextCompat.getColor(context, R.color.accent_purple));
+        hintStrokePaint.setStyle(Paint.Style.STROKE);
+        hintStrokePaint.setStrokeWidth(dp(HINT_STROKE_DP));
+        textPaint.setColor(ContextCompat.getColor(context, R.color.white));
+        textPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        textPaint.setTextAlign(Paint.Align.LEFT);
+
+        slideAnimator.setDuration(SLIDE_MS);
+        slideAnimator.setInterpolator(new DecelerateInterpolator());
+        slideAnimator.addUpdateListener(animation -> {
+            slideFraction = (float) animation.getAnimatedValue();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && tileNodes != null) {
+                positionSlidingNode();
+            }
+            invalidate();
+        });
+    }
+
+    /** The board to draw; call updateTiles() after the board was reshuffled */
+    public void setBoard(@NonNull SlidingBoard board) {
+        this.board = board;
+        updateGeometry();
+        invalidate();
+    }
+
+    @Override
+    public void setOnTileClickListener(OnTileClickListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void onTileMoved(int from, int to) {
+        // A slide still running (fast taps, auto-solve) simply jumps to its end
+        if (slideAnimator.isRunning()) slideAnimator.end();
+        slideValue = board.tileAt(to);
+        slideFrom = from;
+        slideTo = to;
+        slideFraction = 0f;
+        slideAnimator.start();
+    }
+
+    @Override
+    public void updateTiles() {
+        slideAnimator.cancel();
+        slideValue = 0;
+        slideTo = -1;
+        slideFraction = 1f;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && tileNodes != null) positionTileNodes();
+        invalidate();
+    }
+
+    @Override
+    public void setHintPosition(int position) {
+        if (hintPosition == position) return;
+        int oldValue = hintValue;
+        hintPosition = position;
+        hintValue = position != NO_HINT ? board.tileAt(position) : 0;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && tileNodes != null) {
+            // Only the two tiles whose look changed are recorded again. The old one is
+            // found by value: the board may have been reshuffled since it was hinted.
+            recordTileNode(oldValue);
+            recordTileNode(hintValue);
+        }
+        invalidate();
+    }
+
+    // ---- Layout ----
+
+    /** Always square: as large as the available width and height allow */
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        int height = MeasureSpec.getSize(heightMeasureSpec);
+        int size = MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.UNSPECIFIED
+                ? width : Math.min(width, height);
+        setMeasuredDimension(size, size);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateGeometry();
+    }
+
+    /** Cell size, text size and cached labels for the current view and board size */
+    private void updateGeometry() {
+        if (board == null || getWidth() == 0) return;
+        int size = board.getSize();
+        cellSize = (float) Math.min(getWidth(), getHeight()) / size;
+        float scale = size > FULL_SIZE_GRID ? (float) FULL_SIZE_GRID / size : 1f;
+        gap = Math.min(dp(GAP_DP), cellSize * 0.06f);
+        corner = Math.min(dp(CORNER_DP) * scale, cellSize * 0.25f);
+        textPaint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                TEXT_SIZE_SP * scale, getResources().getDisplayMetrics()));
+        Paint.FontMetrics metrics = textPaint.getFontMetrics();
+        textBaseline = cellSize / 2 - (metrics.ascent + metrics.descent) / 2;
+
+        int cells = board.getCellCount();
+        if (labels.length != cells) {
+            labels = new String[cells];
+            for (int value = 1; value < cells; value++) labels[value] = String.valueOf(value);
+        }
+        labelWidths = new float[cells];
+        for (int value = 1; value < cells; value++) labelWidths[value] = textPaint.measureText(labels[value]);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) recordNodes();
+    }
+
+    // ---- Drawing ----
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        super.onDraw(canvas);
+        if (board == null || cellSize == 0) return;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q
+                && boardNode != null && canvas.isHardwareAccelerated()) {
+            canvas.drawRenderNode(boardNode);  // Tiles are positioned by their node properties
+            return;
+        }
+        // Software path: every tile, the sliding one between its two cells
+        int size = board.getSize();
+        int cells = board.getCellCount();
+        for (int pos = 0; pos < cells; pos++) {
+            int value = board.tileAt(pos);
+            if (value == 0) continue;
+            float x = (pos % size) * cellSize;
+            float y = (pos / size) * cellSize;
+            if (pos == slideTo && slideFraction < 1f) {
+                // Between the cell it came from and the cell it is sliding into
+                x += ((slideFrom % size) * cellSize - x) * (1f - slideFraction);
+                y += ((slideFrom / size) * cellSize - y) * (1f - slideFraction);
+            }
+            drawTile(canvas, x, y, value, value == hintValue);
+        }
+    }
+
+    /** Draws one tile at (x, y): directly on the software path, or into its RenderNode */
+    private void drawTile(Canvas canvas, float x, float y, int value, boolean hint) {
+        float left = x + gap;
+        float top = y + gap;
+        float right = x + cellSize - gap;
+        float bottom = y + cellSize - gap;
+        canvas.drawRoundRect(left, top, right, bottom, corner, corner, hint ? hintPaint : tilePaint);
+        if (hint) {
+            float inset = hintStrokePaint.getStrokeWidth() / 2;
+            canvas.drawRoundRect(left + inset, top + inset, right - inset, bottom - inset,
+                    corner, corner, hintStrokePaint);
+        }
+        canvas.drawText(labels[value], x + (cellSize - labelWidths[value]) / 2, y + textBaseline, textPaint);
+    }
+
+    // ---- RenderNodes (API 29+) ----
+
+    /**
+     * Records every tile into its own RenderNode at the current cell size, and the board
+     * node that draws them all. Runs when the view or board size changes - never per move.
+     */
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private void recordNodes() {
+        int cells = board.getCellCount();
+        if (tileNodes == null || tileNodes.length != cells) {
+            tileNodes = new RenderNode[cells];
+            for (int value = 1; value < cells; value++) tileNodes[value] = new RenderNode("tile" + value);
+        }
+        if (boardNode == null) boardNode = new RenderNode("board");
+
+        int cell = (int) Math.ceil(cellSize);
+        for (int value = 1; value < cells; value++) tileNodes[value].setPosition(0, 0, cell, cell);
+        for (int value = 1; value < cells; value++) recordTileNode(value);
+        positionTileNodes();
+
+        boardNode.setPosition(0, 0, getWidth(), getHeight());
+        RecordingCanvas canvas = boardNode.beginRecording();
+        try {
+            for (int value = 1; value < cells; value++) canvas.drawRenderNode(tileNodes[value]);
+        } finally {
+            boardNode.endRecording();
+        }
+    }
+
+    /** Records one tile's node (normal or hint look); nothing for value 0 */
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private void recordTileNode(int value) {
+        if (value <= 0 || value >= tileNodes.length) return;
+        RecordingCanvas canvas = tileNodes[value].beginRecording();
+        try {
+            drawTile(canvas, 0, 0, value, value == hintValue);
+        } finally {
+            tileNodes[value].endRecording();
+        }
+    }
+
+    /** Moves every tile node to its cell (after the whole board changed) */
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private void positionTileNodes() {
+        int size = board.getSize();
+        for (int pos = 0; pos < board.getCellCount(); pos++) {
+            int value = board.tileAt(pos);
+            if (value == 0) continue;
+            tileNodes[value].setTranslationX((pos % size) * cellSize);
+            tileNodes[value].setTranslationY((pos / size) * cellSize);
+        }
+    }
+
+    /** Places the sliding tile's node between its old and new cell: one tile per frame */
+    @RequiresApi(Build.VERSION_CODES.Q)
+    private void positionSlidingNode() {
+        if (slideValue == 0) return;
+        int size = board.getSize();
+        float back = 1f - slideFraction;
+        float x = (slideTo % size) * cellSize;
+        float y = (slideTo / size) * cellSize;
+        RenderNode node = tileNodes[slideValue];  // The board may already have moved on
+        node.setTranslationX(x + ((slideFrom % size) * cellSize - x) * back);
+        node.setTranslationY(y + ((slideFrom / size) * cellSize - y) * back);
+    }
+
+    // ---- Touch ----
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                downCell = cellAt(event.getX(), event.getY());
+                return downCell >= 0;
+            case MotionEvent.ACTION_UP:
+                // A tap: released on the same cell it started on
+                if (downCell >= 0 && downCell == cellAt(event.getX(), event.getY())) {
+                    performClick();
+                    if (listener != null && board.tileAt(downCell) != 0) listener.onTileClick(downCell);
+                }
+                downCell = -1;
+                return true;
+            case MotionEvent.ACTION_CANCEL:
+                downCell = -1;
+                return true;
+            default:
+                return downCell >= 0;
+        }
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();  // Accessibility events; the tile is handled in onTouchEvent
+    }
+
+    /** Cell under a touch point, or -1 outside the board */
+    private int cellAt(float x, float y) {
+        if (board == null || cellSize == 0) return -1;
+        int size = board.getSize();
+        int column = (int) (x / cellSize);
+        int row = (int) (y / cellSize);
+        if (x < 0 || y < 0 || column >= size || row >= size) return -1;
+        return row * size + column;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        slideAnimator.cancel();
+    }
+
+    private float dp(float value) {
+        return value * getResources().getDisplayMetrics().density;
+    }
+}
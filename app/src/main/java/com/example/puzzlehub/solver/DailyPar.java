@@ -0,0 +1,97 @@
+package com.example.puzzlehub.solver;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.example.puzzlehub.db.ScoreStatsEntity;
+import com.example.puzzlehub.engine.DailyChallenge;
+import com.example.puzzlehub.engine.MemoryDeck;
+import com.example.puzzlehub.engine.SlidingBoard;
+import com.example.puzzlehub.engine.SlidingSolver;
+import com.example.puzzlehub.engine.Solver;
+
+import java.io.IOException;
+
+/**
+ * DailyPar - Par of today's Daily Challenge, worked out once per day and cached.
+ *
+ * PRECOMPUTED, NOT SOLVED AT GAME END:
+ * The first time GameHubActivity opens on a new day, prepare() starts a low-priority
+ * background thread that solves today's sliding board optimally (IDA* with the pattern
+ * database) and plays the memory deal with DailyChallenge.memoryPar(). Both numbers go
+ * into SharedPreferences together with the day, so the result screen can show par
+ * instantly - and for the rest of the day, even after the app restarts, nothing is
+ * solved again.
+ */
+public final class DailyPar {
+    private static final String TAG = "DailyPar";
+    private static final String PREFS = "daily_challenge";
+    private static final String KEY_DAY = "day";
+    private static final String KEY_SLIDE_PAR = "slide_par";
+    private static final String KEY_MEMORY_PAR = "memory_par";
+
+    /** Returned while par is still being calculated */
+    public static final int UNKNOWN = -1;
+
+    private static Thread worker;  // Guarded by DailyPar.class
+
+    private DailyPar() {}
+
+    /** Today's day number (local calendar day, as used for streaks) */
+    public static long today() {
+        return ScoreStatsEntity.localDay(System.currentTimeMillis());
+    }
+
+    /** Starts calculating today's par in the background unless it is cached or running */
+    public static synchronized void prepare(Context context) {
+        long day = today();
+        if (worker != null && worker.isAlive()) return;
+        SharedPreferences prefs = prefs(context);
+        if (prefs.getLong(KEY_DAY, UNKNOWN) == day && prefs.getInt(KEY_SLIDE_PAR, UNKNOWN) != UNKNOWN) {
+            return;
+        }
+        Context appContext = context.getApplicationContext();
+        worker = new Thread(() -> calculate(appContext, day), "DailyPar");
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+    }
+
+    /** Par in moves for the day's game, or UNKNOWN if it is not ready (or another day) */
+    public static int get(Context context, long day, boolean sliding) {
+        SharedPreferences prefs = prefs(context);
+        if (prefs.getLong(KEY_DAY, UNKNOWN) != day) return UNKNOWN;
+        return prefs.getInt(sliding ? KEY_SLIDE_PAR : KEY_MEMORY_PAR, UNKNOWN);
+    }
+
+    private static void calculate(Context appContext, long day) {
+        // Memory first: it is O(n), so its par is ready almost immediately
+        MemoryDeck deck = new MemoryDeck(DailyChallenge.MEMORY_CARDS, DailyChallenge.memoryRandom(day));
+        prefs(appContext).edit()
+                .putLong(KEY_DAY, day)
+                .putInt(KEY_MEMORY_PAR, DailyChallenge.memoryPar(deck))
+                .putInt(KEY_SLIDE_PAR, UNKNOWN)
+                .apply();
+
+        SlidingBoard board = new SlidingBoard(DailyChallenge.SLIDE_SIZE);
+        board.setTiles(DailyChallenge.slidingTiles(day));
+        int length = createSolver(appContext).solveLength(board.getState());
+        if (length < 0) return;  // Interrupted
+        prefs(appContext).edit().putInt(KEY_SLIDE_PAR, length).apply();
+    }
+
+    /** Runs on the worker thread, so mapping the pattern database is fine here */
+    private static Solver createSolver(Context appContext) {
+        try {
+            return new SlidingSolver(DailyChallenge.SLIDE_SIZE, PatternDatabaseAsset.get(appContext));
+        } catch (IOException e) {
+            Log.w(TAG, "Pattern database unavailable, solving with Manhattan distance only", e);
+            return new SlidingSolver(DailyChallenge.SLIDE_SIZE);
+        }
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.puzzlehub.solver;
+
+import android.content.Context;
+
+import com.example.puzzlehub.engine.MemoryOdds;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * MemoryOddsAsset - Loads the simulated Memory Match move distributions once per process.
+ *
+ * The asset is generated at build time by MemorySimulator (see GenerateMemoryOddsTask)
+ * and is only about 70 KB, so it is simply read into the heap. Call get() from a
+ * background thread - the first call opens and parses the file.
+ */
+public final class MemoryOddsAsset {
+    private static MemoryOdds instance;
+
+    private MemoryOddsAsset() {}
+
+    /** Returns the shared odds, reading them on first use */
+    public static synchronized MemoryOdds get(Context context) throws IOException {
+        if (instance == null) {
+            try (InputStream in = new BufferedInputStream(context.getAssets().open(MemoryOdds.ASSET_NAME))) {
+                instance = MemoryOdds.read(in);
+            }
+        }
+        return instance;
+    }
+}
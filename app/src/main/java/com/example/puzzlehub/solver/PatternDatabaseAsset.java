@@ -0,0 +1,43 @@
+package com.example.puzzlehub.solver;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+
+import com.example.puzzlehub.engine.PatternDatabase;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * PatternDatabaseAsset - Loads the 4×4 pattern database from the APK once per process.
+ *
+ * MEMORY-MAPPED ASSET:
+ * The database is packaged uncompressed (see noCompress in app/build.gradle), so the
+ * asset is a plain byte range inside the APK file. We map that range read-only instead
+ * of reading it into a byte[]: the ~5.5 MB table lives in the OS page cache, pages are
+ * only loaded when the solver touches them, and nothing counts against the Java heap.
+ *
+ * Call get() from a background thread - the first call opens and maps the file.
+ */
+public final class PatternDatabaseAsset {
+    private static PatternDatabase instance;
+
+    private PatternDatabaseAsset() {}
+
+    /** Returns the shared database, mapping it on first use */
+    public static synchronized PatternDatabase get(Context context) throws IOException {
+        if (instance == null) {
+            try (AssetFileDescriptor afd = context.getAssets().openFd(PatternDatabase.ASSET_NAME);
+                 FileInputStream in = new FileInputStream(afd.getFileDescriptor());
+                 FileChannel channel = in.getChannel()) {
+                // The mapping stays valid after the channel is closed
+                MappedByteBuffer buffer = channel.map(
+                        FileChannel.MapMode.READ_ONLY, afd.getStartOffset(), afd.getLength());
+                instance = PatternDatabase.read(buffer);
+            }
+        }
+        return instance;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.puzzlehub.solver;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.puzzlehub.engine.PuzzleGenerator;
+import com.example.puzzlehub.engine.PuzzlePool;
+import com.example.puzzlehub.engine.SlidingSolver;
+import com.example.puzzlehub.engine.Solver;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * PuzzlePools - App-wide pools of difficulty-checked sliding boards, one per grid size.
+ *
+ * Each pool's worker starts the first time the pool is requested and keeps a few
+ * boards ready for the rest of the process. GameHubActivity requests them early, so
+ * the boards are usually waiting by the time the player has picked a difficulty.
+ *
+ * The pool solvers are single-threaded on purpose: filling the pool is background
+ * work and should not compete with the UI (or a running hint) for every core.
+ */
+public final class PuzzlePools {
+    private static final String TAG = "PuzzlePools";
+    private static final int CAPACITY = 3;
+    private static final int MIN_SIZE = 3;
+    private static final int MAX_SIZE = 4;
+
+    private static final PuzzlePool[] pools = new PuzzlePool[MAX_SIZE + 1];
+
+    private PuzzlePools() {}
+
+    /** Returns the running pool for a 3×3 or 4×4 board, starting it on first use */
+    public static synchronized PuzzlePool get(Context context, int size) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("No puzzle pool for size " + size);
+        }
+        if (pools[size] == null) {
+            Context appContext = context.getApplicationContext();
+            PuzzlePool pool = new PuzzlePool("PuzzlePool-" + size, CAPACITY,
+                    () -> new PuzzleGenerator(size, createSolver(appContext, size), new Random()));
+            pool.start();
+            pools[size] = pool;
+        }
+        return pools[size];
+    }
+
+    /** Starts every pool so boards are generated before the first game */
+    public static void warmUp(Context context) {
+        for (int size = MIN_SIZE; size <= MAX_SIZE; size++) {
+            get(context, size);
+        }
+    }
+
+    /** Runs on the pool's worker thread, so mapping the pattern database is fine here */
+    private static Solver createSolver(Context appContext, int size) {
+        if (size == 4) {
+            try {
+                return new SlidingSolver(4, PatternDatabaseAsset.get(appContext));
+            } catch (IOException e) {
+                Log.w(TAG, "Pattern database unavailable, verifying with Manhattan distance only", e);
+            }
+        }
+        return new SlidingSolver(size);
+    }
+}
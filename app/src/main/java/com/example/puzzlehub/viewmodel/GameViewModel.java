@@ -0,0 +1,293 @@
+package com.example.puzzlehub.viewmodel;
+
+import android.app.Application;
+import android.os.Bundle;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.SavedStateHandle;
+
+import com.example.puzzlehub.engine.Replay;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * GameViewModel - Keeps an in-progress game alive across rotation and process death.
+ *
+ * ROTATION (ViewModel):
+ * The game objects (board or deck, move counter, replay, elapsed seconds) live here,
+ * not in the fragment. A rotated screen gets the same ViewModel back and simply redraws
+ * the game - no re-shuffle, no re-deal.
+ *
+ * PROCESS DEATH (SavedStateHandle):
+ * Android may kill a backgrounded app and later recreate the screen from its saved
+ * state. A compact binary snapshot is registered with the SavedStateHandle; it is only
+ * built when Android actually saves the state, not after every move.
+ *
+ * CLOSED APP (disk):
+ * When the game screen goes to the background, the same snapshot is written to a small
+ * file (one per game and difficulty) on the snapshots' own background thread, so a save
+ * never waits behind a long database import or export. Opening that game again
+ * continues where the player left off. Finished, untouched and auto-solved games
+ * delete the file instead.
+ * Until a save has reached the disk, its bytes stay in memory (unwritten), and a
+ * resume reads them from there. The file itself is only read when no write to it is
+ * queued or running, so the main thread never waits for a disk write.
+ *
+ * DAILY CHALLENGE:
+ * setDailyDay() switches the game to the day's seeded board or deal (DailyChallenge).
+ * A daily game is saved separately from the normal games of the same difficulty.
+ *
+ * SNAPSHOT FORMAT:
+ *   version byte, game key (UTF: the difficulty, plus the day for daily games),
+ *   elapsed seconds (int), the game's Replay bytes
+ * The Replay already holds the starting board or deal and every move, so playing it
+ * back rebuilds the board, the face-up/matched cards and the move count exactly - and
+ * the replay saved with the score stays complete. A typical snapshot is 50-300 bytes.
+ */
+public abstract class GameViewModel extends AndroidViewModel {
+    private static final String TAG = "GameViewModel";
+    private static final String KEY_SNAPSHOT = "game_snapshot";
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /** getDailyDay() of a normal (not daily) game */
+    public static final long NO_DAILY = -1;
+
+    // One thread writes every saved game, in the order the saves were made
+    private static final ExecutorService SNAPSHOT_IO = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "GameSnapshots");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Saves not yet on disk, by file; an empty array means "delete". Guarded by itself,
+    // and only ever held for a map lookup - never across file I/O.
+    private static final Map<File, byte[]> unwritten = new HashMap<>();
+
+    private final SavedStateHandle savedState;
+
+    private String difficulty;
+    private long dailyDay = NO_DAILY;  // Day number of a Daily Challenge
+    private int size;                  // Grid size, as passed to startOrResume()
+    private int elapsedSeconds;
+    private boolean finished;          // Won - nothing left to resume
+
+    protected GameViewModel(@NonNull Application application, @NonNull SavedStateHandle savedState) {
+        super(application);
+        this.savedState = savedState;
+        savedState.setSavedStateProvider(KEY_SNAPSHOT, () -> {
+            Bundle bundle = new Bundle();
+            bundle.putByteArray(KEY_SNAPSHOT, snapshot());
+            return bundle;
+        });
+    }
+
+    /**
+     * Called by the game fragment when its view is created. Keeps the current game after
+     * a rotation; otherwise resumes a saved one (process death first, then disk) or
+     * starts a new game.
+     */
+    public final void startOrResume(String difficulty, int size) {
+        if (getReplay() != null) return;  // Rotation: the game is still here
+        this.difficulty = difficulty;
+        this.size = size;
+
+        Bundle saved = savedState.get(KEY_SNAPSHOT);
+        byte[] snapshot = saved != null ? saved.getByteArray(KEY_SNAPSHOT) : null;
+        // A few hundred bytes at most, so reading it here does not hold up the first frame
+        if (snapshot == null) snapshot = readFile();
+        if (snapshot == null || !restore(snapshot)) {
+            newGame();
+        }
+    }
+
+    /** Makes this a Daily Challenge game; call before startOrResume() */
+    public void setDailyDay(long day) {
+        dailyDay = day;
+    }
+
+    /** Day number of the Daily Challenge being played, or NO_DAILY */
+    public long getDailyDay() {
+        return dailyDay;
+    }
+
+    public boolean isDaily() {
+        return dailyDay != NO_DAILY;
+    }
+
+    /** Difficulty, plus the day for daily games: what a snapshot must match to be resumed */
+    private String gameKey() {
+        return isDaily() ? difficulty + "-daily-" + dailyDay : difficulty;
+    }
+
+    /** Throws the current game away and starts a new one of the same size */
+    public void restart() {
+        elapsedSeconds = 0;
+        finished = false;
+        newGame();
+    }
+
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    protected int getSize() {
+        return size;
+    }
+
+    public int getElapsedSeconds() {
+        return elapsedSeconds;
+    }
+
+    /** Called once a second by the Activity's timer; returns the new value */
+    public int incrementElapsedSeconds() {
+        return ++elapsedSeconds;
+    }
+
+    /** The game was won and its score handed to ResultActivity - do not resume it */
+    public void markFinished() {
+        finished = true;
+    }
+
+    /** Number of moves so far (for the Activity's counter) */
+    public abstract int getMoves();
+
+    /** True once the player has made a move, i.e. the timer should be running */
+    public boolean isStarted() {
+        return getMoves() > 0 && !finished;
+    }
+
+    /** The current game's replay, or null before startOrResume() */
+    @Nullable
+    public abstract Replay getReplay();
+
+    /** Deals or shuffles a new game of getSize() */
+    protected abstract void newGame();
+
+    /** Rebuilds the game from a decoded replay; false if it does not fit this game */
+    protected abstract boolean restoreFrom(Replay replay);
+
+    /** False for games that must not be resumed (subclasses add e.g. auto-solved boards) */
+    protected boolean isResumable() {
+        return !finished && getReplay() != null && getReplay().getMoveCount() > 0;
+    }
+
+    // ---- Snapshot ----
+
+    /** The binary snapshot, or null if the current game should not be resumed */
+    @Nullable
+    private byte[] snapshot() {
+        if (!isResumable()) return null;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(SNAPSHOT_VERSION);
+            out.writeUTF(gameKey());
+            out.writeInt(elapsedSeconds);
+            out.write(getReplay().encode());
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            return null;  // Not possible with a ByteArrayOutputStream
+        }
+    }
+
+    private boolean restore(byte[] snapshot) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+            if (in.readByte() != SNAPSHOT_VERSION) return false;
+            if (!gameKey().equals(in.readUTF())) return false;
+            int seconds = in.readInt();
+            byte[] replayBytes = new byte[in.available()];
+            in.readFully(replayBytes);
+            if (!restoreFrom(Replay.decode(replayBytes))) return false;
+            elapsedSeconds = Math.max(0, seconds);
+            finished = false;
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            Log.w(TAG, "Ignoring unreadable saved game", e);
+            return false;
+        }
+    }
+
+    // ---- Disk ----
+
+    /**
+     * Writes the snapshot to disk in the background, or deletes the saved file when the
+     * game should not be resumed. Called by the Activity when it stops.
+     */
+    public void saveToDisk() {
+        if (difficulty == null) return;
+        byte[] built = snapshot();  // Built on the main thread, where the game lives
+        final byte[] contents = built != null ? built : new byte[0];
+        final File target = savedGameFile();
+        synchronized (unwritten) {
+            unwritten.put(target, contents);
+        }
+        SNAPSHOT_IO.execute(() -> {
+            synchronized (unwritten) {
+                if (unwritten.get(target) != contents) return;  // A newer save is queued
+            }
+            write(new AtomicFile(target), contents);
+            synchronized (unwritten) {
+                unwritten.remove(target, contents);  // Unless a newer save came in meanwhile
+            }
+        });
+    }
+
+    /** Runs on SNAPSHOT_IO */
+    private static void write(AtomicFile file, byte[] contents) {
+        if (contents.length == 0) {
+            file.delete();
+            return;
+        }
+        FileOutputStream out = null;
+        try {
+            out = file.startWrite();
+            out.write(contents);
+            file.finishWrite(out);
+        } catch (IOException e) {
+            Log.w(TAG, "Could not save the game", e);
+            if (out != null) file.failWrite(out);
+        }
+    }
+
+    @Nullable
+    private byte[] readFile() {
+        File target = savedGameFile();
+        synchronized (unwritten) {
+            byte[] queued = unwritten.get(target);
+            if (queued != null) return queued.length == 0 ? null : queued;
+        }
+        // No write to this file is queued or running, and new saves are only made on
+        // this (main) thread - so reading it cannot race a write
+        AtomicFile file = new AtomicFile(target);
+        if (!file.getBaseFile().exists()) return null;
+        try {
+            return file.readFully();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private File savedGameFile() {
+        // One file for all daily games: yesterday's is simply replaced (or ignored) today
+        String name = isDaily() ? "daily" : difficulty;
+        return new File(getApplication().getFilesDir(), "saved_game_" + gameName() + "_" + name + ".bin");
+    }
+
+    /** "SLIDE" or "MEMORY", used in the saved game's file name */
+    protected abstract String gameName();
+}
@@ -0,0 +1,89 @@
+package com.example.puzzlehub.viewmodel;
+
+import android.app.Application;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.SavedStateHandle;
+
+import com.example.puzzlehub.engine.DailyChallenge;
+import com.example.puzzlehub.engine.FastRandom;
+import com.example.puzzlehub.engine.MemoryDeck;
+import com.example.puzzlehub.engine.Replay;
+
+/**
+ * MemoryGameViewModel - The memory game in progress (shared by MemoryMatchActivity and
+ * its board fragment).
+ *
+ * Holds the deck (faces, face-up and matched cards, move counter) and the replay of
+ * the accepted flips. See GameViewModel for how the game survives rotation and
+ * process death.
+ */
+public class MemoryGameViewModel extends GameViewModel {
+    private final FastRandom random = new FastRandom(System.nanoTime());
+    private MemoryDeck deck;    // Cards, flips, matches and the move counter
+    private Replay replay;      // Flips of the current game, from the deal
+
+    public MemoryGameViewModel(@NonNull Application application, @NonNull SavedStateHandle savedState) {
+        super(application, savedState);
+    }
+
+    public MemoryDeck getDeck() {
+        return deck;
+    }
+
+    @Override
+    public int getMoves() {
+        return deck != null ? deck.getMoves() : 0;
+    }
+
+    @Nullable
+    @Override
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /** Flips a card and records it if the deck accepted the flip (one of MemoryDeck.FLIP_*) */
+    public int flip(int position) {
+        int result = deck.flip(position);
+        if (result != MemoryDeck.FLIP_IGNORED) {
+            replay.recordFlip(position, SystemClock.elapsedRealtime());
+        }
+        return result;
+    }
+
+    @Override
+    protected String gameName() {
+        return "MEMORY";
+    }
+
+    /** Deals a shuffled deck (every pair id appears twice); the day's deal for a Daily Challenge */
+    @Override
+    protected void newGame() {
+        int cards = getSize() * getSize();
+        FastRandom source = isDaily() ? DailyChallenge.memoryRandom(getDailyDay()) : random;
+        if (deck == null || deck.getCardCount() != cards) {
+            deck = new MemoryDeck(cards, source);
+        } else {
+            deck.deal(source);
+        }
+        replay = Replay.forMemory(deck);
+    }
+
+    @Override
+    protected boolean restoreFrom(Replay saved) {
+        int cards = getSize() * getSize();
+        if (saved.getGame() != Replay.GAME_MEMORY || saved.getSize() != cards) return false;
+        MemoryDeck restored = new MemoryDeck(cards, random);
+        restored.deal(saved.getStart());
+        if (!saved.playInto(restored) || restored.isComplete()) return false;
+        // A mismatched pair was still showing when the game was saved - turn it back now
+        restored.hideMismatch();
+
+        saved.resumeRecording(SystemClock.elapsedRealtime());
+        deck = restored;
+        replay = saved;
+        return true;
+    }
+}
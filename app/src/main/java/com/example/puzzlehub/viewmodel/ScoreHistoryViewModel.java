@@ -0,0 +1,187 @@
+package com.example.puzzlehub.viewmodel;
+
+import android.app.Application;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingLiveData;
+import androidx.paging.PagingSource;
+
+import com.example.puzzlehub.R;
+import com.example.puzzlehub.db.AppDatabase;
+import com.example.puzzlehub.db.DatabaseExecutors;
+import com.example.puzzlehub.db.ScoreBackup;
+import com.example.puzzlehub.db.ScoreDao;
+import com.example.puzzlehub.db.ScoreEntity;
+import com.example.puzzlehub.db.ScoreWriter;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * ScoreHistoryViewModel - Holds the score history screen's state across rotations.
+ *
+ * WHAT IS A VIEWMODEL?
+ * A ViewModel outlives its Activity when the screen rotates: the Activity is destroyed
+ * and recreated, but gets the same ViewModel back. So the current filter, the sort and
+ * the pages already loaded are kept instead of being queried again.
+ *
+ * SWITCHMAP OVER THE QUERY KEY:
+ * The filter chip and sort chip together form a Key. Transformations.switchMap() turns
+ * each new Key into a new Pager over the matching indexed ScoreDao query, and drops the
+ * old one. SQLite does the filtering and sorting; a chip tap costs the main thread
+ * nothing that grows with the history.
+ *
+ * cachedIn(viewModelScope) keeps the current PagingData alive for the lifetime of the
+ * ViewModel, which is what lets a rotated Activity show the same rows immediately.
+ *
+ * BACKUP:
+ * Export and import go through ScoreBackup, reading or writing the file the user picked
+ * with the Storage Access Framework. Export runs on DatabaseExecutors.IO; import writes
+ * scores, so it is queued on ScoreWriter like every other write to the scores table. The outcome is posted to
+ * getBackupMessage(), so it still reaches the screen if it was rotated meanwhile.
+ */
+public class ScoreHistoryViewModel extends AndroidViewModel {
+    // Sort orders offered by the sort chips
+    public static final int SORT_NEWEST = 0;
+    public static final int SORT_FASTEST = 1;
+    public static final int SORT_FEWEST_MOVES = 2;
+    public static final int SORT_TOP_PER_DIFFICULTY = 3;
+
+    private static final int LEADERBOARD_SIZE = 3;  // Scores per difficulty in "Top 3"
+    // Rows per page; a page fills about three screens of the history list
+    private static final int PAGE_SIZE = 30;
+
+    /** Filter + sort; a new Key means a new query */
+    private static final class Key {
+        final String type;  // null = all games, "MEMORY" or "SLIDE" = filtered
+        final int sort;
+
+        Key(String type, int sort) {
+            this.type = type;
+            this.sort = sort;
+        }
+
+        boolean matches(String type, int sort) {
+            return this.sort == sort && (this.type == null ? type == null : this.type.equals(type));
+        }
+    }
+
+    private static final String TAG = "ScoreHistoryViewModel";
+
+    private final AppDatabase database;
+    private final ScoreDao scoreDao;
+    private final MutableLiveData<String> backupMessage = new MutableLiveData<>();
+    private final MutableLiveData<Key> key = new MutableLiveData<>(new Key(null, SORT_NEWEST));
+    private final LiveData<PagingData<ScoreEntity>> scores;
+
+    public ScoreHistoryViewModel(@NonNull Application application) {
+        super(application);
+        database = AppDatabase.getInstance(application);
+        scoreDao = database.scoreDao();
+        scores = PagingLiveData.cachedIn(
+                Transformations.switchMap(key, this::createPages),
+                ViewModelKt.getViewModelScope(this));
+    }
+
+    /** Pages of the scores matching the current filter and sort */
+    public LiveData<PagingData<ScoreEntity>> getScores() {
+        return scores;
+    }
+
+    /** Shows one game type (null = all games); ignored if it is already shown */
+    public void setFilter(String type) {
+        Key current = key.getValue();
+        if (!current.matches(type, current.sort)) key.setValue(new Key(type, current.sort));
+    }
+
+    /** Switches to one of the SORT_* orders; ignored if it is already used */
+    public void setSort(int sort) {
+        Key current = key.getValue();
+        if (!current.matches(current.type, sort)) key.setValue(new Key(current.type, sort));
+    }
+
+    /** Result of the last export or import, to show once; null when there is nothing new */
+    public LiveData<String> getBackupMessage() {
+        return backupMessage;
+    }
+
+    /** Call after showing the backup message so a rotation does not show it again */
+    public void onBackupMessageShown() {
+        backupMessage.setValue(null);
+    }
+
+    /** Streams every score into the document at uri (ScoreBackup.FORMAT_CSV or FORMAT_BINARY) */
+    public void exportScores(Uri uri, int format) {
+        Application app = getApplication();
+        DatabaseExecutors.IO.execute(() -> {
+            // "wt" truncates, in case the user picked an existing, longer file
+            try (ParcelFileDescriptor pfd = openFile(uri, "wt");
+                 FileChannel channel = new FileOutputStream(pfd.getFileDescriptor()).getChannel()) {
+                int count = ScoreBackup.export(database, channel, format);
+                backupMessage.postValue(app.getString(R.string.export_done, count));
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Export failed", e);
+                backupMessage.postValue(app.getString(R.string.export_failed, e.getMessage()));
+            }
+        });
+    }
+
+    /** Reads a CSV or binary backup from uri and adds the scores that are not saved yet */
+    public void importScores(Uri uri) {
+        Application app = getApplication();
+        ScoreWriter.getInstance(app).bulk(db -> {
+            try (ParcelFileDescriptor pfd = openFile(uri, "r");
+                 FileChannel channel = new FileInputStream(pfd.getFileDescriptor()).getChannel()) {
+                ScoreBackup.ImportResult result = ScoreBackup.importFrom(db, channel);
+                backupMessage.postValue(app.getString(R.string.import_done, result.added, result.read));
+            } catch (IOException | RuntimeException e) {
+                Log.e(TAG, "Import failed", e);
+                backupMessage.postValue(app.getString(R.string.import_failed, e.getMessage()));
+            }
+        }, null);
+    }
+
+    private ParcelFileDescriptor openFile(Uri uri, String mode) throws FileNotFoundException {
+        ParcelFileDescriptor pfd = getApplication().getContentResolver().openFileDescriptor(uri, mode);
+        if (pfd == null) throw new FileNotFoundException("Cannot open " + uri);
+        return pfd;
+    }
+
+    private LiveData<PagingData<ScoreEntity>> createPages(Key key) {
+        // Placeholders off: the adapter only counts rows it has actually loaded
+        Pager<Integer, ScoreEntity> pager = new Pager<>(
+                new PagingConfig(PAGE_SIZE, PAGE_SIZE, false),
+                () -> createPagingSource(key.type, key.sort));
+        return PagingLiveData.getLiveData(pager);
+    }
+
+    /** Picks the indexed ScoreDao query for a filter and sort (called again after every invalidation) */
+    private PagingSource<Integer, ScoreEntity> createPagingSource(String type, int sort) {
+        switch (sort) {
+            case SORT_FASTEST:
+                return type == null ? scoreDao.pageFastest() : scoreDao.pageFastestByType(type);
+            case SORT_FEWEST_MOVES:
+                return type == null ? scoreDao.pageFewestMoves() : scoreDao.pageFewestMovesByType(type);
+            case SORT_TOP_PER_DIFFICULTY:
+                return type == null
+                        ? scoreDao.pageTopPerDifficulty(LEADERBOARD_SIZE)
+                        : scoreDao.pageTopPerDifficultyByType(type, LEADERBOARD_SIZE);
+            default:
+                return type == null ? scoreDao.pageNewest() : scoreDao.pageNewestByType(type);
+        }
+    }
+}
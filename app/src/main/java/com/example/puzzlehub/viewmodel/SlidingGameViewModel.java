@@ -0,0 +1,151 @@
+package com.example.puzzlehub.viewmodel;
+
+import android.app.Application;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.SavedStateHandle;
+
+import com.example.puzzlehub.engine.DailyChallenge;
+import com.example.puzzlehub.engine.PuzzleGenerator;
+import com.example.puzzlehub.engine.PuzzlePool;
+import com.example.puzzlehub.engine.RandomBoardGenerator;
+import com.example.puzzlehub.engine.Replay;
+import com.example.puzzlehub.engine.SlidingBoard;
+import com.example.puzzlehub.engine.SlidingSolver;
+import com.example.puzzlehub.solver.PuzzlePools;
+
+import java.util.Random;
+
+/**
+ * SlidingGameViewModel - The sliding puzzle in progress (shared by SlidingPuzzleActivity
+ * and its board fragment).
+ *
+ * Holds the board, the distance right after shuffling (the meter's maximum), the
+ * replay of the player's moves and whether the auto-solver has taken over.
+ * See GameViewModel for how the game survives rotation and process death.
+ */
+public class SlidingGameViewModel extends GameViewModel {
+    private final RandomBoardGenerator boardGenerator = new RandomBoardGenerator(System.nanoTime());
+    private final Random random = new Random();  // For boards made here when the pool is empty
+    private SlidingBoard board;       // Compact board (0 = empty tile)
+    private int initialDistance = 1;  // Distance right after shuffling (meter maximum)
+    private Replay replay;            // Moves of the current game, from the shuffled board
+    private boolean autoSolving;      // Auto-solve is playing (or has played) this board
+
+    public SlidingGameViewModel(@NonNull Application application, @NonNull SavedStateHandle savedState) {
+        super(application, savedState);
+    }
+
+    public SlidingBoard getBoard() {
+        return board;
+    }
+
+    public int getInitialDistance() {
+        return initialDistance;
+    }
+
+    @Override
+    public int getMoves() {
+        return replay != null ? replay.getMoveCount() : 0;
+    }
+
+    @Nullable
+    @Override
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /** Slides the player's tile into the empty space and records it; returns the old empty cell */
+    public int moveTile(int position) {
+        int emptyPos = board.getEmptyPos();
+        board.moveTile(position);
+        replay.recordSlide(position, emptyPos, SystemClock.elapsedRealtime());
+        return emptyPos;
+    }
+
+    public boolean isAutoSolving() {
+        return autoSolving;
+    }
+
+    /** Auto-solved boards are a demo: they are locked until Restart and never resumed */
+    public void setAutoSolving(boolean autoSolving) {
+        this.autoSolving = autoSolving;
+    }
+
+    @Override
+    public boolean isStarted() {
+        return super.isStarted() && !autoSolving;
+    }
+
+    @Override
+    protected boolean isResumable() {
+        return super.isResumable() && !autoSolving;
+    }
+
+    @Override
+    protected String gameName() {
+        return "SLIDE";
+    }
+
+    /**
+     * Deals a new board. On 3×3 and 4×4 it normally comes from the app-wide PuzzlePool,
+     * where it was already solved in the background to check that its optimal solution
+     * length is in the target range for this grid size.
+     *
+     * While the pool is still empty (e.g. the very first game right after launch), a
+     * 3×3 board is generated and checked right here - solving 3×3 optimally takes about
+     * a millisecond. A 4×4 board, whose check is far slower, comes from
+     * PuzzleGenerator.walk(): an unverified walk calibrated to the same target range.
+     *
+     * Larger boards get a uniformly random arrangement instead. A plain random shuffle
+     * could be unsolvable, so RandomBoardGenerator checks the parity and fixes it with
+     * one swap - O(n) even on a 10×10 board.
+     *
+     * A Daily Challenge always gets the day's seeded board, also after Restart.
+     */
+    @Override
+    protected void newGame() {
+        if (board == null) {
+            board = new SlidingBoard(getSize());
+        } else {
+            board.reset();
+        }
+        long pooled = board.isPacked() && !isDaily()
+                ? PuzzlePools.get(getApplication(), getSize()).poll() : PuzzlePool.EMPTY;
+        if (isDaily()) {
+            board.setTiles(DailyChallenge.slidingTiles(getDailyDay()));
+        } else if (pooled != PuzzlePool.EMPTY) {
+            board.setState(pooled);
+        } else if (getSize() == 3) {
+            board.setState(new PuzzleGenerator(3, new SlidingSolver(3), random).generate());
+        } else if (board.isPacked()) {
+            board.setState(PuzzleGenerator.walk(getSize(), random));
+        } else {
+            boardGenerator.shuffle(board);
+        }
+        initialDistance = Math.max(1, board.getManhattanDistance());
+        replay = Replay.forSliding(board);
+        autoSolving = false;
+    }
+
+    @Override
+    protected boolean restoreFrom(Replay saved) {
+        if (saved.getGame() != Replay.GAME_SLIDE || saved.getSize() != getSize()) return false;
+        int[] start = saved.getStart();
+        byte[] tiles = new byte[start.length];
+        for (int i = 0; i < start.length; i++) tiles[i] = (byte) start[i];
+        SlidingBoard restored = new SlidingBoard(getSize());
+        restored.setTiles(tiles);
+        int distance = Math.max(1, restored.getManhattanDistance());
+        if (!saved.playInto(restored) || restored.isSolved()) return false;
+
+        saved.resumeRecording(SystemClock.elapsedRealtime());
+        board = restored;
+        initialDistance = distance;
+        replay = saved;
+        autoSolving = false;
+        return true;
+    }
+}
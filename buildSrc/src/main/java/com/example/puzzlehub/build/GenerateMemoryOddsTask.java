@@ -0,0 +1,54 @@
+package com.example.puzzlehub.build;
+
+import com.example.puzzlehub.engine.MemoryOdds;
+import com.example.puzzlehub.engine.MemorySimulator;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * GenerateMemoryOddsTask - Writes the simulated Memory Match move distributions asset.
+ *
+ * MemorySimulator plays getGames() games (MemoryOdds.GAMES unless set) per board size
+ * and player model on all cores of the build machine - about 15 s of CPU time. The seed
+ * is fixed, so the asset only changes with the game count, the simulator or the board
+ * sizes. The task is cacheable: a clean build or a fresh CI checkout takes the asset
+ * from the build cache instead of simulating again.
+ */
+@CacheableTask
+public abstract class GenerateMemoryOddsTask extends DefaultTask {
+    public GenerateMemoryOddsTask() {
+        getGames().convention(MemoryOdds.GAMES);
+    }
+
+    /** Games per board size and player model */
+    @Input
+    public abstract Property<Long> getGames();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @TaskAction
+    public void generate() throws IOException {
+        File file = getOutputDirectory().file(MemoryOdds.ASSET_NAME).get().getAsFile();
+        if (!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+            throw new IOException("Could not create " + file.getParentFile());
+        }
+        long games = getGames().get();
+        MemoryOdds odds = MemoryOdds.simulate(new MemorySimulator(), games);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            odds.write(out, games);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.puzzlehub.build;
+
+import com.example.puzzlehub.engine.PatternDatabase;
+import com.example.puzzlehub.engine.PatternDatabaseBuilder;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * GeneratePatternDatabaseTask - Writes the 6-6-3 pattern database asset for the 4×4 puzzle.
+ *
+ * The search takes tens of seconds, so it runs here at build time and the result is
+ * shipped as an uncompressed asset that the app memory-maps. Gradle only re-runs the
+ * task when its output is missing or the engine code it is built from changes.
+ */
+public abstract class GeneratePatternDatabaseTask extends DefaultTask {
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDirectory();
+
+    @TaskAction
+    public void generate() throws IOException {
+        File file = getOutputDirectory().file(PatternDatabase.ASSET_NAME).get().getAsFile();
+        if (!file.getParentFile().isDirectory() && !file.getParentFile().mkdirs()) {
+            throw new IOException("Could not create " + file.getParentFile());
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            PatternDatabaseBuilder.write(PatternDatabase.PATTERNS_663, out);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.puzzlehub.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+/**
+ * MemoryDeckBenchmark - Dealing a Memory Match deck and playing a whole game on it.
+ *
+ * playGame deals, then flips every pair with one mismatch per pair first (so both
+ * the match and the mismatch paths run). Expected: O(n) and zero bytes allocated.
+ */
+@State(Scope.Thread)
+public class MemoryDeckBenchmark {
+    @Param({"16", "36"})
+    public int cards;
+
+    private FastRandom random;
+    private MemoryDeck deck;
+    private int[] firstOfPair;
+    private int[] secondOfPair;
+
+    @Setup
+    public void setUp() {
+        random = new FastRandom(7);
+        deck = new MemoryDeck(cards, random);
+        firstOfPair = new int[cards / 2];
+        secondOfPair = new int[cards / 2];
+    }
+
+    @Benchmark
+    public MemoryDeck deal() {
+        deck.deal(random);
+        return deck;
+    }
+
+    @Benchmark
+    public int playGame() {
+        deck.deal(random);
+        Arrays.fill(firstOfPair, MemoryDeck.NONE);
+        for (int pos = 0; pos < cards; pos++) {
+            int face = deck.getFace(pos);
+            if (firstOfPair[face] == MemoryDeck.NONE) firstOfPair[face] = pos;
+            else secondOfPair[face] = pos;
+        }
+        int pairs = cards / 2;
+        for (int face = 0; face < pairs; face++) {
+            if (face + 1 < pairs) {
+                // A wrong guess first: this pair's first card with the next pair's card
+                deck.flip(firstOfPair[face]);
+                deck.flip(firstOfPair[face + 1]);
+                deck.hideMismatch();
+            }
+            deck.flip(firstOfPair[face]);
+            deck.flip(secondOfPair[face]);
+        }
+        return deck.isComplete() ? deck.getMoves() : -1;
+    }
+}
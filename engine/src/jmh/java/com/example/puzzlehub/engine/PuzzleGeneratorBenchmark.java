@@ -0,0 +1,30 @@
+package com.example.puzzlehub.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * PuzzleGeneratorBenchmark - Creating a 3×3 board of guaranteed difficulty.
+ *
+ * calibrated3x3 is PuzzleGenerator (random walk + optimal verification), the work the
+ * background PuzzlePool does for each 3×3 board. It has no size parameter, so it lives
+ * apart from ShuffleBenchmark and runs once instead of once per size.
+ */
+@State(Scope.Thread)
+public class PuzzleGeneratorBenchmark {
+    private PuzzleGenerator calibrated;
+
+    @Setup
+    public void setUp() {
+        calibrated = new PuzzleGenerator(3, new SlidingSolver(3), new Random(42));
+    }
+
+    @Benchmark
+    public long calibrated3x3() {
+        return calibrated.generate();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.puzzlehub.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * ShuffleBenchmark - Creating a new sliding board.
+ *
+ * uniformShuffle is the O(n) Fisher-Yates + parity generator used for every new game;
+ * solvabilityCheck is its parity test alone, on a board copied once in setUp() so the
+ * gc profiler sees no allocation. PuzzleGeneratorBenchmark covers calibrated boards.
+ */
+@State(Scope.Thread)
+public class ShuffleBenchmark {
+    @Param({"3", "4", "10"})
+    public int size;
+
+    private RandomBoardGenerator generator;
+    private SlidingBoard board;
+    private byte[] tiles;  // Copy of the shuffled board for solvabilityCheck
+
+    @Setup
+    public void setUp() {
+        generator = new RandomBoardGenerator(42);
+        board = new SlidingBoard(size);
+        generator.shuffle(board);
+        tiles = board.copyTiles();
+    }
+
+    @Benchmark
+    public SlidingBoard uniformShuffle() {
+        generator.shuffle(board);
+        return board;
+    }
+
+    @Benchmark
+    public boolean solvabilityCheck() {
+        return RandomBoardGenerator.isSolvable(tiles, size);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.puzzlehub.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * SlidingBoardBenchmark - The per-tap hot path: applying a move and checking for a win.
+ *
+ * The board replays a precomputed random walk followed by the same walk backwards,
+ * so it returns to its start position and every move in the cycle is legal.
+ * Expected: O(1) per move on every size and zero bytes allocated.
+ */
+@State(Scope.Thread)
+public class SlidingBoardBenchmark {
+    private static final int WALK_LENGTH = 1024;
+
+    @Param({"3", "4", "10"})
+    public int size;
+
+    private SlidingBoard board;
+    private int[] taps;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        board = new SlidingBoard(size);
+        new RandomBoardGenerator(1).shuffle(board);
+
+        // Forward walk without immediate undo, then the exact reverse
+        FastRandom random = new FastRandom(2);
+        SlidingBoard walker = new SlidingBoard(board);
+        int[] forward = new int[WALK_LENGTH];
+        int[] emptyBefore = new int[WALK_LENGTH];
+        int previous = -1;
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            int[] neighbors = walker.getMoveTable().neighbors(walker.getEmptyPos());
+            int tap;
+            do {
+                tap = neighbors[random.nextInt(neighbors.length)];
+            } while (tap == previous);
+            previous = walker.getEmptyPos();
+            emptyBefore[i] = previous;
+            forward[i] = tap;
+            walker.moveTile(tap);
+        }
+        taps = new int[2 * WALK_LENGTH];
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            taps[i] = forward[i];
+            taps[2 * WALK_LENGTH - 1 - i] = emptyBefore[i];
+        }
+        next = 0;
+    }
+
+    /** One tap: move the tile and run the win check, as BaseSlidingFragment does */
+    @Benchmark
+    public boolean moveAndCheckWin() {
+        board.moveTile(taps[next]);
+        next = (next + 1) & (taps.length - 1);
+        return board.isSolved();
+    }
+
+    /** The "distance to solved" meter read after each tap */
+    @Benchmark
+    public int manhattanDistance() {
+        return board.getManhattanDistance();
+    }
+
+    /** Adjacency check done before every tap is accepted (cycles through the taps) */
+    @Benchmark
+    public boolean canMove() {
+        boolean movable = board.canMove(taps[next]);
+        next = (next + 1) & (taps.length - 1);
+        return movable;
+    }
+}
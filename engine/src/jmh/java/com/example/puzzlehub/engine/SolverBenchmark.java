@@ -0,0 +1,59 @@
+package com.example.puzzlehub.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * SolverBenchmark - Solver search on fixed boards.
+ *
+ * - optimal3x3: IDA* (Manhattan + linear conflict) on one of the hardest 8-puzzles (31 moves)
+ * - optimal4x4: IDA* without the pattern database on a fixed 30-34 move 4×4 board
+ *   (the database is generated by the app build, not loaded here)
+ * - reduction10x10: ReductionSolver on a fixed uniformly random 10×10 board
+ * Node counts are stable for a fixed board, so time per solve is the number to watch.
+ */
+@State(Scope.Thread)
+public class SolverBenchmark {
+    // 8 6 7 / 2 5 4 / 3 _ 1 - needs 31 moves, the 8-puzzle maximum
+    private static final byte[] HARDEST_3X3 = {8, 6, 7, 2, 5, 4, 3, 0, 1};
+
+    private SlidingSolver solver3;
+    private SlidingSolver solver4;
+    private ReductionSolver solver10;
+    private long board3;
+    private long board4;
+    private byte[] board10;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        solver3 = new SlidingSolver(3);
+        solver4 = new SlidingSolver(4);
+        solver10 = new ReductionSolver(10);
+
+        SlidingBoard board = new SlidingBoard(3);
+        board.setTiles(HARDEST_3X3);
+        board3 = board.getState();
+        board4 = new PuzzleGenerator(4, new SlidingSolver(4), new Random(4), 30, 34).generate();
+        board10 = new RandomBoardGenerator(10).generate(10);
+    }
+
+    @Benchmark
+    public int[] optimal3x3() {
+        return solver3.solve(board3);
+    }
+
+    @Benchmark
+    public int[] optimal4x4() {
+        return solver4.solve(board4);
+    }
+
+    @Benchmark
+    public int[] reduction10x10() {
+        return solver10.solve(board10);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.puzzlehub.engine;
+
+import java.util.Arrays;
+
+/**
+ * DailyChallenge - The same sliding board and memory deal for everyone on a given day.
+ *
+ * DATE SEED:
+ * Everything is derived from the day number (days since 1970-01-01) through FastRandom,
+ * whose algorithm is part of the app - so every device and every version of Android
+ * produces the same board for the same day. Each game mixes in its own constant, so
+ * the sliding board and the memory deal do not share a random sequence.
+ *
+ * SLIDING BOARD:
+ * A seeded random walk (no immediate back-tracking) from the solved 4×4 board. Being
+ * a walk, it is always solvable; it continues until the board is far enough from solved
+ * to be a real challenge, which keeps its optimal solution in solver-friendly range.
+ *
+ * MEMORY PAR:
+ * memoryPar() plays the deal as a player with a perfect memory who turns unknown cards
+ * over from the top-left: a known pair is taken at once, otherwise a new card is turned
+ * and matched if its partner has been seen. It is an O(n) estimate of a very good game.
+ */
+public final class DailyChallenge {
+    public static final int SLIDE_SIZE = 4;
+    public static final int MEMORY_CARDS = 36;   // 6×6, the "HARD" deck
+
+    private static final long SLIDE_SALT = 0x534C494445L;    // "SLIDE"
+    private static final long MEMORY_SALT = 0x4D454D4F5259L; // "MEMORY"
+    private static final int MIN_WALK = 60;
+    private static final int MIN_DISTANCE = 24;              // Manhattan distance of the daily board
+
+    private DailyChallenge() {}
+
+    /** Seed of one game on one day */
+    public static long seed(long day, boolean sliding) {
+        return new FastRandom(day ^ (sliding ? SLIDE_SALT : MEMORY_SALT)).nextLong();
+    }
+
+    /** The day's 4×4 sliding board, row by row (0 = empty) */
+    public static byte[] slidingTiles(long day) {
+        FastRandom random = new FastRandom(seed(day, true));
+        SlidingBoard board = new SlidingBoard(SLIDE_SIZE);
+        MoveTable table = board.getMoveTable();
+        int previous = -1;
+        for (int step = 0; step < MIN_WALK || board.getManhattanDistance() < MIN_DISTANCE; step++) {
+            int[] neighbors = table.neighbors(board.getEmptyPos());
+            int next;
+            do {
+                next = neighbors[random.nextInt(neighbors.length)];
+            } while (next == previous);
+            previous = board.getEmptyPos();
+            board.moveTile(next);
+        }
+        return board.copyTiles();
+    }
+
+    /** Random source for the day's memory deal: MemoryDeck.deal(memoryRandom(day)) */
+    public static FastRandom memoryRandom(long day) {
+        return new FastRandom(seed(day, false));
+    }
+
+    /** Moves a perfect-memory player needs for this deal (see class comment) */
+    public static int memoryPar(MemoryDeck deck) {
+        int[] seenAt = new int[deck.getPairCount()];  // Position of the first card seen of each pair
+        Arrays.fill(seenAt, -1);
+        int knownPairs = 0;   // Pairs whose both cards have been seen but not yet taken
+        int next = 0;         // Next card never turned over
+        int moves = 0;
+        int matched = 0;
+        while (matched < deck.getPairCount()) {
+            moves++;
+            if (knownPairs > 0) {
+                knownPairs--;        // Take a pair we already know
+                matched++;
+                continue;
+            }
+            int first = next++;
+            int face = deck.getFace(first);
+            if (seenAt[face] >= 0) {
+                matched++;           // Its partner was seen in an earlier turn
+                continue;
+            }
+            seenAt[face] = first;
+            int second = next++;
+            int secondFace = deck.getFace(second);
+            if (secondFace == face) {
+                matched++;           // Lucky: the two new cards match
+            } else if (seenAt[secondFace] >= 0) {
+                knownPairs++;        // Missed this turn, but the pair is now known
+            } else {
+                seenAt[secondFace] = second;
+            }
+        }
+        return moves;
+    }
+}
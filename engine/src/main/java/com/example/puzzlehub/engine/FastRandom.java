@@ -0,0 +1,40 @@
+package com.example.puzzlehub.engine;
+
+/**
+ * FastRandom - Small, fast, seeded pseudo-random number generator (SplitMix64).
+ *
+ * WHY NOT java.util.Random?
+ * - Random is synchronized on every call and only has 48 bits of state
+ * - Its exact sequence is tied to the platform class; here the algorithm is part of
+ *   the app, so the same seed gives the same boards on every device and JVM
+ *   (useful for reproducible puzzles and benchmarks)
+ * Each call is one add, two multiply-xorshift rounds, and no allocation.
+ *
+ * NOT thread-safe and NOT for security - give each thread its own instance.
+ */
+public final class FastRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public FastRandom(long seed) {
+        this.state = seed;
+    }
+
+    /** Next 64 random bits */
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Uniform int in [0, bound). Uses the multiply-shift method on 32 random bits,
+     * which is faster than a division; the bias is below 2^-24 for bounds up to 100.
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("bound must be positive: " + bound);
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+}
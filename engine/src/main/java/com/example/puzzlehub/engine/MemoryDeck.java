@@ -0,0 +1,160 @@
+package com.example.puzzlehub.engine;
+
+import java.util.Arrays;
+
+/**
+ * MemoryDeck - Game logic of Memory Match, independent of Android.
+ *
+ * CARD STORAGE:
+ * faces[pos] is the pair id (0 .. pairCount-1) of the card at that position; the UI
+ * maps pair ids to pictures. Face-up and matched flags are plain boolean arrays,
+ * so flipping a card never allocates or boxes.
+ *
+ * HOW A TURN WORKS (flip() returns what happened):
+ * 1. First card → FLIP_FIRST, it stays face up
+ * 2. Second card → FLIP_MATCH (both stay up as matched) or FLIP_MISMATCH
+ * 3. After a mismatch the deck waits: further flips are ignored until
+ *    hideMismatch() turns both cards face down again (the UI calls it after a delay)
+ * A "move" is one pair of flips, exactly like the old fragment counted it.
+ */
+public final class MemoryDeck {
+    public static final int NONE = -1;
+
+    // Results of flip()
+    public static final int FLIP_IGNORED = 0;   // Card already up, or waiting for hideMismatch()
+    public static final int FLIP_FIRST = 1;     // First card of a pair turned up
+    public static final int FLIP_MATCH = 2;     // Second card matches the first
+    public static final int FLIP_MISMATCH = 3;  // Second card does not match
+
+    private final int[] faces;        // faces[pos] = pair id
+    private final boolean[] faceUp;   // Cards currently showing their face
+    private final boolean[] matched;  // Cards already paired
+    private final int pairCount;
+    private int firstCard = NONE;     // First card of the current turn
+    private int secondCard = NONE;    // Second card of a mismatched turn (until hidden)
+    private int moves;
+    private int matchedPairs;
+
+    /** Creates a deck of cardCount cards (must be even) and deals it */
+    public MemoryDeck(int cardCount, FastRandom random) {
+        if (cardCount <= 0 || (cardCount & 1) != 0) {
+            throw new IllegalArgumentException("Card count must be positive and even: " + cardCount);
+        }
+        faces = new int[cardCount];
+        faceUp = new boolean[cardCount];
+        matched = new boolean[cardCount];
+        pairCount = cardCount / 2;
+        deal(random);
+    }
+
+    /** Shuffles two cards of every pair face down (Fisher-Yates, O(n)) and resets the score */
+    public void deal(FastRandom random) {
+        for (int pos = 0; pos < faces.length; pos++) {
+            faces[pos] = pos >> 1;
+            faceUp[pos] = false;
+            matched[pos] = false;
+        }
+        for (int i = faces.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = faces[i];
+            faces[i] = faces[j];
+            faces[j] = swap;
+        }
+        firstCard = NONE;
+        secondCard = NONE;
+        moves = 0;
+        matchedPairs = 0;
+    }
+
+    /** Deals a known arrangement (faces[pos] = pair id), e.g. to play back a Replay */
+    public void deal(int[] dealtFaces) {
+        if (dealtFaces.length != faces.length) {
+            throw new IllegalArgumentException("Expected " + faces.length + " cards, got " + dealtFaces.length);
+        }
+        System.arraycopy(dealtFaces, 0, faces, 0, faces.length);
+        Arrays.fill(faceUp, false);
+        Arrays.fill(matched, false);
+        firstCard = NONE;
+        secondCard = NONE;
+        moves = 0;
+        matchedPairs = 0;
+    }
+
+    /** Turns a card face up and reports what happened (one of the FLIP_* constants) */
+    public int flip(int pos) {
+        if (secondCard != NONE || faceUp[pos] || matched[pos]) return FLIP_IGNORED;
+        faceUp[pos] = true;
+
+        if (firstCard == NONE) {
+            firstCard = pos;
+            return FLIP_FIRST;
+        }
+        moves++;
+        if (faces[firstCard] == faces[pos]) {
+            matched[firstCard] = true;
+            matched[pos] = true;
+            matchedPairs++;
+            firstCard = NONE;
+            return FLIP_MATCH;
+        }
+        secondCard = pos;
+        return FLIP_MISMATCH;
+    }
+
+    /** Turns the two mismatched cards face down again and ends the turn */
+    public void hideMismatch() {
+        if (secondCard == NONE) return;
+        faceUp[firstCard] = false;
+        faceUp[secondCard] = false;
+        firstCard = NONE;
+        secondCard = NONE;
+    }
+
+    /** True while a mismatched pair is still face up */
+    public boolean isWaitingForHide() {
+        return secondCard != NONE;
+    }
+
+    /** First card of the current turn, or NONE */
+    public int getFirstCard() {
+        return firstCard;
+    }
+
+    /** Second card of a mismatched turn that has not been hidden yet, or NONE */
+    public int getSecondCard() {
+        return secondCard;
+    }
+
+    /** All pairs found - a counter check, not a scan */
+    public boolean isComplete() {
+        return matchedPairs == pairCount;
+    }
+
+    public int getFace(int pos) {
+        return faces[pos];
+    }
+
+    public boolean isFaceUp(int pos) {
+        return faceUp[pos];
+    }
+
+    public boolean isMatched(int pos) {
+        return matched[pos];
+    }
+
+    public int getCardCount() {
+        return faces.length;
+    }
+
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    public int getMatchedPairs() {
+        return matchedPairs;
+    }
+
+    public int getMoves() {
+        return moves;
+    }
+}
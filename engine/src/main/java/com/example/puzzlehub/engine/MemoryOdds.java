@@ -0,0 +1,147 @@
+package com.example.puzzlehub.engine;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * MemoryOdds - Simulated move distributions of every Memory Match board size, used to
+ * rate a board's difficulty and to grade a finished game.
+ *
+ * WHERE THE NUMBERS COME FROM:
+ * MemorySimulator plays GAMES games per board size with each standard player (perfect
+ * memory, a TYPICAL player who remembers the last 8 cards - about what people keep in
+ * short-term memory - and a random player). 100,000 games per model pins the grade
+ * thresholds to within a move and costs about 15 s of CPU time - mostly the random
+ * player on 10×10, which needs ~2,500 moves a game - so it runs at build time on all
+ * cores and the histograms are shipped as an asset (about 55 KB). For the millions-of-
+ * games report use MemorySimulator.main (./gradlew :engine:simulateMemory).
+ *
+ * RATING AND GRADING:
+ * - expectedMoves(cards): the typical player's mean - how hard the board really is
+ * - percentileRank(cards, moves): share of typical players that needed more moves
+ * - grade(cards, moves): S when the game was as good as the perfect-memory player's
+ *   median, then A/B/C by percentile against typical players, D below the median
+ *
+ * FILE FORMAT (big-endian):
+ *   int MAGIC ("MOD1"), long seed, long games per model, byte board count
+ *   per board: int card count, then one MoveDistribution per model (perfect, typical, random)
+ */
+public final class MemoryOdds {
+    public static final int MAGIC = 0x4D4F4431;  // "MOD1"
+    public static final String ASSET_NAME = "memory/odds.bin";
+    public static final long SEED = 20240611L;
+    /** Games per board and model in the shipped asset (the build's default) */
+    public static final long GAMES = 100_000;
+
+    /** Board sizes in the asset: EASY (4×4), HARD (6×6), 8×8 and 10×10 */
+    public static final int[] CARD_COUNTS = {16, 36, 64, 100};
+
+    /** Remembers the last 8 cards seen */
+    public static final MemorySimulator.Recall TYPICAL = MemorySimulator.Recall.window(8);
+
+    private static final int PERFECT = 0;
+    private static final int TYPICAL_PLAYER = 1;
+    private static final int MODELS = 3;
+
+    private final int[] cardCounts;
+    private final MoveDistribution[][] distributions;  // [board][model]
+
+    private MemoryOdds(int[] cardCounts, MoveDistribution[][] distributions) {
+        this.cardCounts = cardCounts;
+        this.distributions = distributions;
+    }
+
+    /** Runs the simulation for every board in CARD_COUNTS (minutes of CPU time: build time only) */
+    public static MemoryOdds simulate(MemorySimulator simulator, long games) {
+        MemorySimulator.Recall[] models = MemorySimulator.standardModels();
+        MoveDistribution[][] distributions = new MoveDistribution[CARD_COUNTS.length][MODELS];
+        for (int b = 0; b < CARD_COUNTS.length; b++) {
+            for (int m = 0; m < MODELS; m++) {
+                distributions[b][m] = simulator.simulate(CARD_COUNTS[b], models[m], games, SEED);
+            }
+        }
+        return new MemoryOdds(CARD_COUNTS.clone(), distributions);
+    }
+
+    /** True if the asset has numbers for this many cards */
+    public boolean covers(int cards) {
+        return indexOf(cards) >= 0;
+    }
+
+    /** Mean moves of a typical player on this board: its difficulty rating */
+    public double expectedMoves(int cards) {
+        return typical(cards).mean();
+    }
+
+    /** Share (0..1) of typical players that needed more moves than this */
+    public double percentileRank(int cards, int moves) {
+        return typical(cards).percentileRank(moves);
+    }
+
+    /** 'S', 'A', 'B', 'C' or 'D' (see class comment) */
+    public char grade(int cards, int moves) {
+        if (moves <= distributions[board(cards)][PERFECT].percentile(0.5)) return 'S';
+        double rank = percentileRank(cards, moves);
+        if (rank >= 0.9) return 'A';
+        if (rank >= 0.75) return 'B';
+        if (rank >= 0.5) return 'C';
+        return 'D';
+    }
+
+    /** Distribution of one standard model (index into MemorySimulator.standardModels()) */
+    public MoveDistribution getDistribution(int cards, int model) {
+        return distributions[board(cards)][model];
+    }
+
+    private MoveDistribution typical(int cards) {
+        return distributions[board(cards)][TYPICAL_PLAYER];
+    }
+
+    private int board(int cards) {
+        int index = indexOf(cards);
+        if (index < 0) throw new IllegalArgumentException("No odds for " + cards + " cards");
+        return index;
+    }
+
+    private int indexOf(int cards) {
+        for (int b = 0; b < cardCounts.length; b++) if (cardCounts[b] == cards) return b;
+        return -1;
+    }
+
+    // ---- Storage ----
+
+    public void write(OutputStream stream, long games) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeLong(SEED);
+        out.writeLong(games);
+        out.writeByte(cardCounts.length);
+        for (int b = 0; b < cardCounts.length; b++) {
+            out.writeInt(cardCounts[b]);
+            for (int m = 0; m < MODELS; m++) distributions[b][m].write(out);
+        }
+        out.flush();
+    }
+
+    /** Reads what write() wrote; throws IOException for malformed data */
+    public static MemoryOdds read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) throw new IOException("Not a memory odds file");
+        in.readLong();  // Seed and game count are only there for reference
+        in.readLong();
+        int boards = in.readUnsignedByte();
+        int[] cardCounts = new int[boards];
+        MoveDistribution[][] distributions = new MoveDistribution[boards][MODELS];
+        for (int b = 0; b < boards; b++) {
+            cardCounts[b] = in.readInt();
+            for (int m = 0; m < MODELS; m++) {
+                distributions[b][m] = MoveDistribution.read(in);
+                if (distributions[b][m].getGames() == 0) throw new IOException("Empty distribution");
+            }
+        }
+        return new MemoryOdds(cardCounts, distributions);
+    }
+}
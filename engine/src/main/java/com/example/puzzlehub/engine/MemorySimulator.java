@@ -0,0 +1,281 @@
+package com.example.puzzlehub.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * MemorySimulator - Plays millions of Memory Match games headlessly to find out how
+ * many moves a board really takes.
+ *
+ * PLAYER MODEL (Recall):
+ * Every simulated player uses the same sensible strategy and only differs in what it
+ * remembers:
+ * 1. If it remembers where both cards of a pair are, it takes that pair
+ * 2. Otherwise it turns a card it does not remember (a random one)
+ * 3. If it remembers the partner of that card, it turns the partner; otherwise it turns
+ *    another card it does not remember
+ * What a player remembers is its Recall:
+ * - PERFECT: every card it has ever seen
+ * - window(n): only the last n cards it has seen (a forgotten card looks unknown again)
+ * - RANDOM: nothing, so it turns two random face-down cards every move
+ * The games are played on a real MemoryDeck, so the rules and the move count are
+ * exactly those of the app.
+ *
+ * PARALLEL AND REPRODUCIBLE:
+ * The games are split into chunks of CHUNK_GAMES. Every chunk is a ForkJoin task with
+ * its own FastRandom, seeded from the run's seed and the chunk number, and its own
+ * MoveDistribution; the chunk results are added together at the end. So all cores are
+ * busy, nothing is shared while playing, and the same seed gives the same distribution
+ * whatever the number of threads.
+ *
+ * HEADLESS RUN:
+ *   ./gradlew :engine:simulateMemory -Pgames=1000000
+ * prints the expected-move distribution of every recall model for every board size.
+ */
+public final class MemorySimulator {
+    private static final int CHUNK_GAMES = 8192;
+
+    /** What a simulated player remembers (see class comment) */
+    public static final class Recall {
+        public static final Recall PERFECT = new Recall("perfect", Integer.MAX_VALUE);
+        public static final Recall RANDOM = new Recall("random", 0);
+
+        private final String name;
+        private final int window;   // Cards remembered; MAX_VALUE = never forgets
+
+        private Recall(String name, int window) {
+            this.name = name;
+            this.window = window;
+        }
+
+        /** A player who remembers only the last `cards` cards it has seen */
+        public static Recall window(int cards) {
+            if (cards <= 0) throw new IllegalArgumentException("Window must be positive: " + cards);
+            return new Recall("window " + cards, cards);
+        }
+
+        public int getWindow() {
+            return window;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final ForkJoinPool pool;
+
+    /** Creates a simulator that runs on the shared common ForkJoin pool */
+    public MemorySimulator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MemorySimulator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /** Plays `games` deals of `cards` cards with the given player, in parallel */
+    public MoveDistribution simulate(int cards, Recall recall, long games, long seed) {
+        if (cards <= 0 || (cards & 1) != 0) {
+            throw new IllegalArgumentException("Card count must be positive and even: " + cards);
+        }
+        return pool.invoke(new RecursiveTask<MoveDistribution>() {
+            @Override
+            protected MoveDistribution compute() {
+                List<ForkJoinTask<MoveDistribution>> chunks = new ArrayList<>();
+                for (long first = 0, chunk = 0; first < games; first += CHUNK_GAMES, chunk++) {
+                    int count = (int) Math.min(CHUNK_GAMES, games - first);
+                    long chunkSeed = seed ^ (chunk * 0xD1B54A32D192ED03L);
+                    chunks.add(ForkJoinTask.adapt(() -> playChunk(cards, recall, count, chunkSeed)));
+                }
+                MoveDistribution total = new MoveDistribution();
+                for (ForkJoinTask<MoveDistribution> chunk : ForkJoinTask.invokeAll(chunks)) {
+                    total.addAll(chunk.join());
+                }
+                return total;
+            }
+        });
+    }
+
+    /** One chunk on one thread: a player and a deck reused for every game */
+    private static MoveDistribution playChunk(int cards, Recall recall, int games, long seed) {
+        FastRandom random = new FastRandom(seed);
+        Player player = new Player(cards, recall.window, random);
+        MoveDistribution result = new MoveDistribution();
+        for (int i = 0; i < games; i++) result.add(player.play());
+        return result;
+    }
+
+    /**
+     * A simulated player and its deck. All state lives in int/boolean arrays that are
+     * reset between games, so a game allocates nothing.
+     */
+    private static final class Player {
+        private final MemoryDeck deck;
+        private final FastRandom random;
+        private final boolean forgets;
+        private final int[] partner;        // partner[pos] = position of the other card of the pair
+        private final int[] firstSeen;      // Per pair id, scratch for building partner[]
+        private final int[] memory;         // Ring of the last `window` cards seen
+        private final int[] rememberCount;  // How often each position is in the ring
+        private final int[] unmatched;      // Positions not matched yet, in any order
+        private final int[] unmatchedIndex; // Index of each position in unmatched[]
+        private final int[] knownPairs;     // Stack of pairs to take (one position per pair)
+        private final boolean[] queued;     // Per pair id: already on the stack
+        private int memoryHead;
+        private int memorySize;
+        private int unmatchedCount;
+        private int knownCount;
+
+        Player(int cards, int window, FastRandom random) {
+            this.deck = new MemoryDeck(cards, random);
+            this.random = random;
+            this.forgets = window != Integer.MAX_VALUE;
+            partner = new int[cards];
+            firstSeen = new int[cards / 2];
+            memory = new int[forgets ? window : 0];
+            rememberCount = new int[cards];
+            unmatched = new int[cards];
+            unmatchedIndex = new int[cards];
+            knownPairs = new int[cards / 2];
+            queued = new boolean[cards / 2];
+        }
+
+        /** Deals a new game, plays it to the end and returns its move count */
+        int play() {
+            deck.deal(random);
+            int cards = deck.getCardCount();
+            Arrays.fill(firstSeen, -1);
+            for (int pos = 0; pos < cards; pos++) {
+                int face = deck.getFace(pos);
+                if (firstSeen[face] < 0) {
+                    firstSeen[face] = pos;
+                } else {
+                    partner[pos] = firstSeen[face];
+                    partner[firstSeen[face]] = pos;
+                }
+                rememberCount[pos] = 0;
+                unmatched[pos] = pos;
+                unmatchedIndex[pos] = pos;
+            }
+            Arrays.fill(queued, false);
+            unmatchedCount = cards;
+            memoryHead = 0;
+            memorySize = 0;
+            knownCount = 0;
+
+            while (!deck.isComplete()) turn();
+            return deck.getMoves();
+        }
+
+        private void turn() {
+            int first = popKnownPair();
+            int second;
+            if (first >= 0) {
+                second = partner[first];
+            } else {
+                first = pickUnknown(-1);
+                see(first);
+                second = isRemembered(partner[first]) ? partner[first] : pickUnknown(first);
+            }
+            deck.flip(first);
+            if (deck.flip(second) == MemoryDeck.FLIP_MATCH) {
+                removeUnmatched(first);
+                removeUnmatched(second);
+            } else {
+                see(second);
+                deck.hideMismatch();
+            }
+        }
+
+        /** A remembered pair that is still on the table, or -1 */
+        private int popKnownPair() {
+            while (knownCount > 0) {
+                int pos = knownPairs[--knownCount];
+                queued[deck.getFace(pos)] = false;
+                // Entries go stale when a card is matched or forgotten after being queued
+                if (!deck.isMatched(pos) && isRemembered(pos) && isRemembered(partner[pos])) return pos;
+            }
+            return -1;
+        }
+
+        /** A random unmatched card the player does not remember, other than `except` */
+        private int pickUnknown(int except) {
+            // Always exists: an unknown card's partner is unknown too, unless a known
+            // pair would have been taken first
+            while (true) {
+                int pos = unmatched[random.nextInt(unmatchedCount)];
+                if (pos != except && !isRemembered(pos)) return pos;
+            }
+        }
+
+        private boolean isRemembered(int pos) {
+            return rememberCount[pos] > 0;
+        }
+
+        /** The player looks at a card: remember it, forgetting the oldest if the ring is full */
+        private void see(int pos) {
+            if (!forgets) {
+                rememberCount[pos] = 1;
+            } else if (memory.length == 0) {
+                return;  // RANDOM remembers nothing
+            } else {
+                if (memorySize == memory.length) {
+                    rememberCount[memory[memoryHead]]--;
+                } else {
+                    memorySize++;
+                }
+                memory[memoryHead] = pos;
+                memoryHead = memoryHead + 1 == memory.length ? 0 : memoryHead + 1;
+                rememberCount[pos]++;
+            }
+            int face = deck.getFace(pos);
+            if (isRemembered(partner[pos]) && !queued[face]) {
+                queued[face] = true;
+                knownPairs[knownCount++] = pos;
+            }
+        }
+
+        private void removeUnmatched(int pos) {
+            int index = unmatchedIndex[pos];
+            int last = unmatched[--unmatchedCount];
+            unmatched[index] = last;
+            unmatchedIndex[last] = index;
+        }
+    }
+
+    /** The recall models reported by main() and stored in the MemoryOdds asset */
+    public static Recall[] standardModels() {
+        return new Recall[] {Recall.PERFECT, MemoryOdds.TYPICAL, Recall.RANDOM};
+    }
+
+    /**
+     * Headless report: for every board size and recall model, the mean, spread and
+     * percentiles of the moves needed. Arguments: [games per model] [seed].
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : MemoryOdds.SEED;
+        MemorySimulator simulator = new MemorySimulator();
+        System.out.printf(Locale.US, "%,d games per model on %d threads%n",
+                games, ForkJoinPool.commonPool().getParallelism());
+        System.out.printf(Locale.US, "%-6s %-10s %8s %5s %5s %5s %5s %5s %5s %8s%n",
+                "cards", "recall", "mean", "min", "p10", "p50", "p90", "p99", "max", "time");
+        for (int cards : MemoryOdds.CARD_COUNTS) {
+            for (Recall recall : standardModels()) {
+                long start = System.nanoTime();
+                MoveDistribution d = simulator.simulate(cards, recall, games, seed);
+                long ms = (System.nanoTime() - start) / 1_000_000;
+                System.out.printf(Locale.US, "%-6d %-10s %8.2f %5d %5d %5d %5d %5d %5d %6dms%n",
+                        cards, recall, d.mean(), d.getMin(), d.percentile(0.10), d.percentile(0.50),
+                        d.percentile(0.90), d.percentile(0.99), d.getMax(), ms);
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.puzzlehub.engine;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * MoveDistribution - How many games finished in how many moves (a histogram).
+ *
+ * STORAGE:
+ * counts[m] is the number of games won in exactly m moves. Memory games have a small,
+ * bounded range of move counts, so a plain long[] indexed by moves is both the exact
+ * distribution and the cheapest way to merge the results of many threads (add the
+ * arrays). It grows when a longer game is recorded.
+ *
+ * QUERIES:
+ * mean(), percentile(p) and percentileRank(moves) are O(range) scans - a few hundred
+ * entries even for a random player - so they are fine to call on the main thread.
+ */
+public final class MoveDistribution {
+    private long[] counts;
+    private long games;
+    private long totalMoves;
+
+    public MoveDistribution() {
+        counts = new long[64];
+    }
+
+    private MoveDistribution(long[] counts) {
+        this.counts = counts;
+        for (int m = 0; m < counts.length; m++) {
+            games += counts[m];
+            totalMoves += counts[m] * m;
+        }
+    }
+
+    /** Records one game won in the given number of moves */
+    public void add(int moves) {
+        if (moves >= counts.length) counts = Arrays.copyOf(counts, Math.max(moves + 1, counts.length * 2));
+        counts[moves]++;
+        games++;
+        totalMoves += moves;
+    }
+
+    /** Adds every game of another distribution (used to merge per-thread results) */
+    public void addAll(MoveDistribution other) {
+        if (other.counts.length > counts.length) counts = Arrays.copyOf(counts, other.counts.length);
+        for (int m = 0; m < other.counts.length; m++) counts[m] += other.counts[m];
+        games += other.games;
+        totalMoves += other.totalMoves;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    /** Number of games won in exactly this many moves */
+    public long getCount(int moves) {
+        return moves >= 0 && moves < counts.length ? counts[moves] : 0;
+    }
+
+    public int getMin() {
+        for (int m = 0; m < counts.length; m++) if (counts[m] > 0) return m;
+        return 0;
+    }
+
+    public int getMax() {
+        for (int m = counts.length - 1; m >= 0; m--) if (counts[m] > 0) return m;
+        return 0;
+    }
+
+    public double mean() {
+        return games == 0 ? 0 : (double) totalMoves / games;
+    }
+
+    /** Smallest move count that at least p (0..1) of the games did not exceed */
+    public int percentile(double p) {
+        long target = (long) Math.ceil(p * games);
+        long seen = 0;
+        for (int m = 0; m < counts.length; m++) {
+            seen += counts[m];
+            if (seen >= target && seen > 0) return m;
+        }
+        return getMax();
+    }
+
+    /**
+     * Share of games (0..1) that needed MORE moves than this - "better than x% of players".
+     * Ties count half, so a result right at the median scores 0.5.
+     */
+    public double percentileRank(int moves) {
+        if (games == 0) return 0;
+        long worse = 0;
+        for (int m = Math.max(0, moves + 1); m < counts.length; m++) worse += counts[m];
+        return (worse + getCount(moves) / 2.0) / games;
+    }
+
+    // ---- Storage ----
+
+    /** Writes the histogram as: int first move count, int length, then one long per entry */
+    public void write(DataOutputStream out) throws IOException {
+        int min = getMin();
+        int length = games == 0 ? 0 : getMax() - min + 1;
+        out.writeInt(min);
+        out.writeInt(length);
+        for (int i = 0; i < length; i++) out.writeLong(counts[min + i]);
+    }
+
+    /** Reads what write() wrote; throws IOException for malformed data */
+    public static MoveDistribution read(DataInputStream in) throws IOException {
+        int min = in.readInt();
+        int length = in.readInt();
+        if (min < 0 || length < 0 || (long) min + length > 1 << 20) throw new IOException("Bad move distribution");
+        long[] counts = new long[min + length];
+        for (int i = 0; i < length; i++) {
+            long count = in.readLong();
+            if (count < 0) throw new IOException("Bad move distribution");
+            counts[min + i] = count;
+        }
+        return new MoveDistribution(counts);
+    }
+}
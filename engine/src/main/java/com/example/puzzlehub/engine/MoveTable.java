@@ -0,0 +1,108 @@
+package com.example.puzzlehub.engine;
+
+import java.util.Arrays;
+
+/**
+ * MoveTable - Precomputed move and distance tables for one sliding grid size.
+ *
+ * WHY PRECOMPUTE?
+ * The board only ever has a handful of sizes, so everything that depends purely on
+ * the grid geometry is computed ONCE per size and shared by every board:
+ * - neighbors(pos): the cells directly above, below, left and right of pos
+ * - isAdjacent(a, b): a single array lookup instead of building and searching a list
+ * - distance(tile, pos): Manhattan distance from pos to the tile's solved cell
+ *
+ * Tables are created lazily and cached, so forSize() is a plain array read after
+ * the first call. They are immutable, so any thread (UI or solver) can share them.
+ */
+public final class MoveTable {
+    public static final int MIN_SIZE = 3;
+    public static final int MAX_SIZE = 10;
+
+    private static final MoveTable[] CACHE = new MoveTable[MAX_SIZE + 1];
+
+    private final int size;
+    private final int cellCount;
+    private final int[][] neighbors;    // neighbors[pos] = adjacent cell positions
+    private final boolean[] adjacent;   // adjacent[a * cellCount + b]
+    private final int[] distance;       // distance[tile * cellCount + pos], tile 0 = empty (always 0)
+
+    private MoveTable(int size) {
+        this.size = size;
+        this.cellCount = size * size;
+        neighbors = new int[cellCount][];
+        adjacent = new boolean[cellCount * cellCount];
+        distance = new int[cellCount * cellCount];
+
+        for (int pos = 0; pos < cellCount; pos++) {
+            int row = pos / size;
+            int col = pos % size;
+            int count = 0;
+            int[] found = new int[4];
+            if (row > 0) found[count++] = pos - size;          // Above
+            if (row < size - 1) found[count++] = pos + size;   // Below
+            if (col > 0) found[count++] = pos - 1;             // Left
+            if (col < size - 1) found[count++] = pos + 1;      // Right
+            neighbors[pos] = Arrays.copyOf(found, count);
+            for (int i = 0; i < count; i++) {
+                adjacent[pos * cellCount + found[i]] = true;
+            }
+        }
+
+        // Tile t (1..N-1) belongs at position t - 1; the empty tile does not count
+        for (int tile = 1; tile < cellCount; tile++) {
+            int goalRow = (tile - 1) / size;
+            int goalCol = (tile - 1) % size;
+            for (int pos = 0; pos < cellCount; pos++) {
+                distance[tile * cellCount + pos] =
+                        Math.abs(pos / size - goalRow) + Math.abs(pos % size - goalCol);
+            }
+        }
+    }
+
+    /** Returns the shared table for the given grid size */
+    public static MoveTable forSize(int size) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Unsupported grid size: " + size);
+        }
+        MoveTable table = CACHE[size];
+        if (table == null) {
+            synchronized (CACHE) {
+                table = CACHE[size];
+                if (table == null) {
+                    table = new MoveTable(size);
+                    CACHE[size] = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    /** Cells adjacent to pos. The returned array is shared - do not modify it. */
+    public int[] neighbors(int pos) {
+        return neighbors[pos];
+    }
+
+    /** True if the two cells share an edge */
+    public boolean isAdjacent(int a, int b) {
+        return adjacent[a * cellCount + b];
+    }
+
+    /** Manhattan distance between pos and the solved cell of the given tile (0 for the empty tile) */
+    public int distance(int tile, int pos) {
+        return distance[tile * cellCount + pos];
+    }
+
+    /** The cell where the given tile (1..N-1) sits in the solved board */
+    public int goalOf(int tile) {
+        return tile == 0 ? cellCount - 1 : tile - 1;
+    }
+}
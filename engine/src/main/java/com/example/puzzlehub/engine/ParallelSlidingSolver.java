@@ -0,0 +1,183 @@
+package com.example.puzzlehub.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ParallelSlidingSolver - Optimal IDA* search spread across all CPU cores.
+ *
+ * HOW THE WORK IS SPLIT:
+ * Each IDA* iteration (one bound) first expands the top of the search tree breadth-first
+ * for a few plies, until there are several branches per core. Every branch then becomes
+ * a ForkJoin task that runs an ordinary single-threaded SlidingSolver on its subtree.
+ *
+ * SHARED STATE PER ITERATION:
+ * - bound: every branch searches below the same bound
+ * - next bound: branches that fail report the smallest f-value they saw; the minimum
+ *   over all branches (an AtomicInteger) becomes the next iteration's bound
+ * - stop flag: the first branch to reach the goal raises it and all other branches
+ *   return within a few thousand nodes
+ * A solution found under bound B is optimal because every smaller bound already failed,
+ * so it does not matter which branch wins.
+ *
+ * CANCELLATION:
+ * Interrupting the thread that called solve() raises the stop flag and returns null,
+ * exactly like SlidingSolver.
+ */
+public final class ParallelSlidingSolver implements Solver {
+    private static final int MAX_SPLIT_DEPTH = 8;
+    private static final int BRANCHES_PER_THREAD = 8;
+
+    private final int size;
+    private final PatternDatabase patternDatabase;  // May be null
+    private final ForkJoinPool pool;
+    private final LongAdder nodes = new LongAdder();
+
+    /** Creates a solver that runs on the shared common ForkJoin pool */
+    public ParallelSlidingSolver(int size, PatternDatabase patternDatabase) {
+        this(size, patternDatabase, ForkJoinPool.commonPool());
+    }
+
+    public ParallelSlidingSolver(int size, PatternDatabase patternDatabase, ForkJoinPool pool) {
+        // Validates size/database the same way the branch solvers will
+        new SlidingSolver(size, patternDatabase);
+        this.size = size;
+        this.patternDatabase = patternDatabase;
+        this.pool = pool;
+    }
+
+    @Override
+    public int[] solve(long state) {
+        nodes.reset();
+        SlidingSolver splitter = new SlidingSolver(size, patternDatabase);
+        int bound = splitter.estimate(state);
+        if (bound == 0) return new int[0];
+
+        while (true) {
+            Iteration iteration = new Iteration(bound);
+            List<BranchTask> branches = split(state, iteration, splitter);
+            if (iteration.solution != null) return iteration.solution;  // Found while splitting
+
+            ForkJoinTask<Void> all = pool.submit(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(branches);
+                }
+            });
+            try {
+                all.get();
+            } catch (InterruptedException e) {
+                iteration.stop.set(true);
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Parallel search failed", e.getCause());
+            }
+
+            if (iteration.solution != null) return iteration.solution;
+            bound = iteration.nextBound.get();
+        }
+    }
+
+    /** Total nodes expanded by all branches during the last solve() call */
+    @Override
+    public long getNodeCount() {
+        return nodes.sum();
+    }
+
+    /**
+     * Expands the first plies breadth-first (with the same pruning as IDA*) until there
+     * are enough branches to keep every worker busy.
+     */
+    private List<BranchTask> split(long rootState, Iteration iteration, SlidingSolver splitter) {
+        MoveTable table = MoveTable.forSize(size);
+        int cellCount = size * size;
+        int target = Math.max(1, pool.getParallelism()) * BRANCHES_PER_THREAD;
+
+        List<BranchTask> frontier = new ArrayList<>();
+        frontier.add(new BranchTask(rootState, SlidingBoard.findEmpty(rootState, cellCount),
+                -1, new int[0], iteration));
+        for (int depth = 0; depth < MAX_SPLIT_DEPTH && frontier.size() < target; depth++) {
+            List<BranchTask> expanded = new ArrayList<>();
+            for (BranchTask branch : frontier) {
+                for (int next : table.neighbors(branch.emptyPos)) {
+                    if (next == branch.previousPos) continue;
+                    long child = SlidingBoard.move(branch.state, next, branch.emptyPos);
+                    int[] prefix = Arrays.copyOf(branch.prefix, depth + 1);
+                    prefix[depth] = next;
+
+                    int h = splitter.estimate(child);
+                    int f = depth + 1 + h;
+                    if (f > iteration.bound) {
+                        iteration.offerNextBound(f);
+                    } else if (h == 0) {
+                        iteration.solution = prefix;
+                        return expanded;
+                    } else {
+                        expanded.add(new BranchTask(child, next, branch.emptyPos, prefix, iteration));
+                    }
+                }
+            }
+            frontier = expanded;
+        }
+        return frontier;
+    }
+
+    /** State shared by all branches of one IDA* iteration */
+    private static final class Iteration {
+        final int bound;
+        final AtomicInteger nextBound = new AtomicInteger(Integer.MAX_VALUE);
+        final AtomicBoolean stop = new AtomicBoolean(false);
+        volatile int[] solution;
+
+        Iteration(int bound) {
+            this.bound = bound;
+        }
+
+        void offerNextBound(int f) {
+            nextBound.accumulateAndGet(f, Math::min);
+        }
+    }
+
+    /** One subtree below the split, searched by its own single-threaded solver */
+    private final class BranchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final long state;
+        final int emptyPos;
+        final int previousPos;
+        final int[] prefix;
+        final Iteration iteration;
+
+        BranchTask(long state, int emptyPos, int previousPos, int[] prefix, Iteration iteration) {
+            this.state = state;
+            this.emptyPos = emptyPos;
+            this.previousPos = previousPos;
+            this.prefix = prefix;
+            this.iteration = iteration;
+        }
+
+        @Override
+        protected void compute() {
+            if (iteration.stop.get()) return;
+            SlidingSolver solver = new SlidingSolver(size, patternDatabase);
+            int result = solver.searchBranch(state, prefix, previousPos, iteration.bound, iteration.stop);
+            nodes.add(solver.getNodeCount());
+            if (result == SlidingSolver.FOUND) {
+                if (iteration.stop.compareAndSet(false, true)) {
+                    iteration.solution = solver.lastSolution();
+                }
+            } else if (result != SlidingSolver.CANCELLED) {
+                iteration.offerNextBound(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.puzzlehub.engine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * PatternDatabase - Additive pattern database heuristic for the 4×4 puzzle.
+ *
+ * WHAT IS A PATTERN DATABASE?
+ * The 15 tiles are split into disjoint groups ("patterns"): 6 + 6 + 3 tiles.
+ * For every possible placement of one group's tiles, the table stores the exact
+ * number of moves of THOSE tiles needed to bring them home (other tiles are ignored).
+ * Because each move only moves one tile, the three group costs can simply be added
+ * and the sum is still a lower bound on the real solution length - but a much
+ * tighter one than Manhattan distance, so IDA* expands far fewer nodes.
+ *
+ * NIBBLE-PACKED STORAGE:
+ * A group's cost is always its own Manhattan distance plus an even number of extra
+ * moves. Only (cost - manhattan) / 2 is stored, which fits in 4 bits, so two entries
+ * share one byte. A 6-tile table has 16·15·14·13·12·11 = 5,765,760 entries (~2.75 MB).
+ *
+ * The tables are generated at build time (PatternDatabaseBuilder) into an asset and
+ * read here straight from a ByteBuffer - on Android a read-only memory map, so the
+ * data stays in the page cache instead of the Java heap.
+ *
+ * FILE FORMAT (big-endian):
+ *   int   MAGIC ("PDB1")
+ *   byte  pattern count
+ *   per pattern: byte tile count, tile values, int entry count, int data offset
+ *   data: nibbles, entry i in the low nibble of byte i/2 when i is even
+ */
+public final class PatternDatabase {
+    public static final int SIZE = 4;
+    public static final int CELLS = SIZE * SIZE;
+    public static final int MAGIC = 0x50444231;  // "PDB1"
+    public static final int MAX_STORED = 0xF;    // Largest value a nibble can hold
+
+    /** Asset path of the generated 6-6-3 database for the 4×4 puzzle */
+    public static final String ASSET_NAME = "pdb/fifteen_663.pdb";
+
+    /** The 6-6-3 partition: left block, right block, and the rest of the top row */
+    public static final int[][] PATTERNS_663 = {
+            {1, 5, 6, 9, 10, 13},
+            {7, 8, 11, 12, 14, 15},
+            {2, 3, 4}
+    };
+
+    private final int[][] patterns;
+    private final ByteBuffer[] tables;
+    private final int[] patternOfTile;   // tile -> pattern index (-1 for the empty tile)
+    private final MoveTable moveTable;
+
+    private PatternDatabase(int[][] patterns, ByteBuffer[] tables) {
+        this.patterns = patterns;
+        this.tables = tables;
+        this.moveTable = MoveTable.forSize(SIZE);
+        patternOfTile = new int[CELLS];
+        patternOfTile[0] = -1;
+        for (int p = 0; p < patterns.length; p++) {
+            for (int tile : patterns[p]) patternOfTile[tile] = p;
+        }
+    }
+
+    /**
+     * Reads a database from a buffer in the format written by PatternDatabaseBuilder.
+     * The buffer is sliced, not copied, so a memory-mapped buffer stays off the heap.
+     */
+    public static PatternDatabase read(ByteBuffer buffer) {
+        ByteBuffer in = buffer.duplicate();
+        if (in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a pattern database");
+        }
+        int count = in.get();
+        int[][] patterns = new int[count][];
+        ByteBuffer[] tables = new ByteBuffer[count];
+        boolean[] seen = new boolean[CELLS];
+        for (int p = 0; p < count; p++) {
+            int tileCount = in.get();
+            patterns[p] = new int[tileCount];
+            for (int i = 0; i < tileCount; i++) {
+                int tile = in.get();
+                if (tile <= 0 || tile >= CELLS || seen[tile]) {
+                    throw new IllegalArgumentException("Patterns must be disjoint tiles 1..15");
+                }
+                seen[tile] = true;
+                patterns[p][i] = tile;
+            }
+            int entries = in.getInt();
+            int offset = in.getInt();
+            if (entries != entryCount(tileCount)) {
+                throw new IllegalArgumentException("Unexpected table size for pattern " + p);
+            }
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(offset);
+            slice.limit(offset + (entries + 1) / 2);
+            tables[p] = slice.slice();
+        }
+        for (int tile = 1; tile < CELLS; tile++) {
+            if (!seen[tile]) throw new IllegalArgumentException("Tile " + tile + " is in no pattern");
+        }
+        return new PatternDatabase(patterns, tables);
+    }
+
+    public int getPatternCount() {
+        return patterns.length;
+    }
+
+    /** Tiles of one pattern. The returned array is shared - do not modify it. */
+    public int[] getTiles(int pattern) {
+        return patterns[pattern];
+    }
+
+    /** Pattern that contains the given tile, or -1 for the empty tile */
+    public int patternOf(int tile) {
+        return patternOfTile[tile];
+    }
+
+    /**
+     * Exact number of moves the pattern's tiles need, given tilePositions[tile] = cell.
+     * This is the pattern's Manhattan distance plus twice the stored nibble.
+     */
+    public int cost(int pattern, int[] tilePositions) {
+        int[] tiles = patterns[pattern];
+        int manhattan = 0;
+        for (int tile : tiles) {
+            manhattan += moveTable.distance(tile, tilePositions[tile]);
+        }
+        int index = rank(tiles, tilePositions);
+        int packed = tables[pattern].get(index >>> 1);
+        int extra = (index & 1) == 0 ? packed & 0xF : (packed >>> 4) & 0xF;
+        return manhattan + 2 * extra;
+    }
+
+    /** Sum of all pattern costs - the admissible 6-6-3 heuristic for the whole board */
+    public int heuristic(int[] tilePositions) {
+        int total = 0;
+        for (int p = 0; p < patterns.length; p++) {
+            total += cost(p, tilePositions);
+        }
+        return total;
+    }
+
+    // ===== Ranking: placement of k distinct tiles on 16 cells <-> dense table index =====
+
+    /** Number of table entries for a pattern of k tiles: 16 · 15 · ... · (16 - k + 1) */
+    public static int entryCount(int k) {
+        int count = 1;
+        for (int i = 0; i < k; i++) count *= CELLS - i;
+        return count;
+    }
+
+    /**
+     * Maps the cells of the pattern's tiles to a unique index in [0, entryCount(k)).
+     * Each tile's cell is re-numbered among the cells not yet used by earlier tiles
+     * (a bitmask and bitCount do this in O(1)), giving a mixed-radix number.
+     */
+    public static int rank(int[] tiles, int[] tilePositions) {
+        int index = 0;
+        int used = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int cell = tilePositions[tiles[i]];
+            int digit = cell - Integer.bitCount(used & ((1 << cell) - 1));
+            index = index * (CELLS - i) + digit;
+            used |= 1 << cell;
+        }
+        return index;
+    }
+
+    /** Inverse of rank(): writes the cell of each pattern tile (in pattern order) into cells */
+    public static void unrank(int index, int k, int[] cells) {
+        int[] digits = new int[k];
+        for (int i = k - 1; i >= 0; i--) {
+            int radix = CELLS - i;
+            digits[i] = index % radix;
+            index /= radix;
+        }
+        int used = 0;
+        for (int i = 0; i < k; i++) {
+            // Pick the digits[i]-th cell that is still free
+            int remaining = digits[i];
+            int cell = 0;
+            while (true) {
+                if ((used & (1 << cell)) == 0) {
+                    if (remaining == 0) break;
+                    remaining--;
+                }
+                cell++;
+            }
+            cells[i] = cell;
+            used |= 1 << cell;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.puzzlehub.engine;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * PatternDatabaseBuilder - Generates the additive pattern database at build time.
+ *
+ * HOW THE TABLE IS BUILT:
+ * For each pattern we run a breadth-first search BACKWARDS from the solved board over
+ * "abstract" states: only the pattern's tiles and the empty cell are tracked.
+ * - Moving the empty cell onto a non-pattern cell costs 0 (those tiles are ignored)
+ * - Moving a pattern tile into the empty cell costs 1
+ * The search runs layer by layer (cost 0, 1, 2, ...). Zero-cost moves are handled by
+ * flood-filling the empty cell through all non-pattern cells at once, so each pattern
+ * placement is expanded once per empty-cell region rather than once per empty cell.
+ * The first layer that reaches a placement (with the empty cell anywhere) is its cost.
+ *
+ * This runs in the Gradle build (see buildSrc), never on the device.
+ */
+public final class PatternDatabaseBuilder {
+    private static final int SIZE = PatternDatabase.SIZE;
+    private static final int CELLS = PatternDatabase.CELLS;
+    private static final int FULL = (1 << CELLS) - 1;
+    private static final int NOT_LEFT_COLUMN = 0xEEEE;   // Cells with a neighbor on their left
+    private static final int NOT_RIGHT_COLUMN = 0x7777;  // Cells with a neighbor on their right
+
+    private PatternDatabaseBuilder() {}
+
+    /** Builds every pattern of the partition and writes the complete database file */
+    public static void write(int[][] patterns, OutputStream target) throws IOException {
+        byte[][] tables = new byte[patterns.length][];
+        for (int p = 0; p < patterns.length; p++) {
+            tables[p] = build(patterns[p]);
+        }
+
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(PatternDatabase.MAGIC);
+        out.writeByte(patterns.length);
+        int headerSize = 4 + 1;
+        for (int[] pattern : patterns) headerSize += 1 + pattern.length + 4 + 4;
+        int offset = headerSize;
+        for (int p = 0; p < patterns.length; p++) {
+            out.writeByte(patterns[p].length);
+            for (int tile : patterns[p]) out.writeByte(tile);
+            out.writeInt(PatternDatabase.entryCount(patterns[p].length));
+            out.writeInt(offset);
+            offset += tables[p].length;
+        }
+        for (byte[] table : tables) out.write(table);
+        out.flush();
+    }
+
+    /** Builds one nibble-packed table for the given pattern tiles */
+    public static byte[] build(int[] tiles) {
+        int k = tiles.length;
+        int entries = PatternDatabase.entryCount(k);
+        MoveTable moveTable = MoveTable.forSize(SIZE);
+
+        byte[] cost = new byte[entries];
+        Arrays.fill(cost, (byte) -1);
+        long[] settled = new long[(int) (((long) entries * CELLS + 63) / 64)];  // (index, empty cell)
+        long[] queued = new long[settled.length];                               // Already in next layer
+
+        // Start from the solved board: tile t on cell t - 1, empty cell last
+        int[] cells = new int[k];
+        for (int i = 0; i < k; i++) cells[i] = tiles[i] - 1;
+        IntQueue current = new IntQueue();
+        IntQueue next = new IntQueue();
+        current.add(encode(rankCells(cells), CELLS - 1));
+
+        int[] tileAtCell = new int[CELLS];
+        for (int depth = 0; !current.isEmpty(); depth++) {
+            for (int q = 0; q < current.size(); q++) {
+                int state = current.get(q);
+                int index = state >>> 4;
+                int empty = state & 0xF;
+                if (isSet(settled, state)) continue;
+
+                PatternDatabase.unrank(index, k, cells);
+                int occupied = 0;
+                Arrays.fill(tileAtCell, -1);
+                for (int i = 0; i < k; i++) {
+                    occupied |= 1 << cells[i];
+                    tileAtCell[cells[i]] = i;
+                }
+                if (cost[index] < 0) cost[index] = (byte) depth;
+
+                // Zero-cost moves: every free cell the empty cell can reach without
+                // pushing a pattern tile is settled at this same depth
+                int region = floodFill(1 << empty, ~occupied & FULL);
+                for (int bits = region; bits != 0; bits &= bits - 1) {
+                    int cell = Integer.numberOfTrailingZeros(bits);
+                    set(settled, encode(index, cell));
+                }
+
+                // Cost-1 moves: a pattern tile next to the region slides into it
+                for (int bits = region; bits != 0; bits &= bits - 1) {
+                    int cell = Integer.numberOfTrailingZeros(bits);
+                    for (int neighbor : moveTable.neighbors(cell)) {
+                        int moved = tileAtCell[neighbor];
+                        if (moved < 0) continue;
+                        cells[moved] = cell;
+                        int nextState = encode(rankCells(cells), neighbor);
+                        cells[moved] = neighbor;
+                        if (!isSet(settled, nextState) && !isSet(queued, nextState)) {
+                            set(queued, nextState);
+                            next.add(nextState);
+                        }
+                    }
+                }
+            }
+            IntQueue swap = current;
+            current = next;
+            next = swap;
+            next.clear();
+            Arrays.fill(queued, 0);
+        }
+
+        // Store (cost - manhattan) / 2 in nibbles
+        byte[] packed = new byte[(entries + 1) / 2];
+        for (int index = 0; index < entries; index++) {
+            PatternDatabase.unrank(index, k, cells);
+            int manhattan = 0;
+            for (int i = 0; i < k; i++) manhattan += moveTable.distance(tiles[i], cells[i]);
+            int difference = cost[index] - manhattan;
+            if (difference < 0 || (difference & 1) != 0) {
+                throw new IllegalStateException("Pattern cost must be Manhattan + an even number");
+            }
+            // Clamping only ever lowers the estimate, so the heuristic stays admissible
+            int extra = Math.min(PatternDatabase.MAX_STORED, difference / 2);
+            packed[index >>> 1] |= (byte) ((index & 1) == 0 ? extra : extra << 4);
+        }
+        return packed;
+    }
+
+    /** Same ranking as PatternDatabase.rank(), for cells listed in pattern order */
+    private static int rankCells(int[] cells) {
+        int index = 0;
+        int used = 0;
+        for (int i = 0; i < cells.length; i++) {
+            int cell = cells[i];
+            int digit = cell - Integer.bitCount(used & ((1 << cell) - 1));
+            index = index * (CELLS - i) + digit;
+            used |= 1 << cell;
+        }
+        return index;
+    }
+
+    /** Grows a set of cells through free cells until it stops changing (4×4 bitboard) */
+    private static int floodFill(int start, int free) {
+        int region = start;
+        while (true) {
+            int grown = region
+                    | (region << SIZE) | (region >>> SIZE)
+                    | ((region << 1) & NOT_LEFT_COLUMN)
+                    | ((region >>> 1) & NOT_RIGHT_COLUMN);
+            grown &= free | start;
+            grown &= FULL;
+            if (grown == region) return region;
+            region = grown;
+        }
+    }
+
+    private static int encode(int index, int empty) {
+        return (index << 4) | empty;
+    }
+
+    private static boolean isSet(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    /** Minimal growable int list used as a BFS layer */
+    private static final class IntQueue {
+        private int[] items = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = value;
+        }
+
+        int get(int i) {
+            return items[i];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
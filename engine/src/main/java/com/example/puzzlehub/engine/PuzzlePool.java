@@ -0,0 +1,74 @@
+package com.example.puzzlehub.engine;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * PuzzlePool - A small queue of ready-made boards, refilled by a background thread.
+ *
+ * WHY A POOL?
+ * Verifying a board's difficulty means solving it optimally, which can take a few
+ * hundred milliseconds on 4×4. The pool does that work ahead of time on a low-priority
+ * daemon thread, so starting a game is just poll() - no solving on the UI thread.
+ *
+ * The worker blocks while the queue is full and wakes up as soon as a board is taken.
+ * The generator is created on the worker thread (via the Supplier), so any expensive
+ * setup such as mapping a pattern database also happens off the caller's thread.
+ */
+public final class PuzzlePool {
+    /** Returned by poll() when no board is ready yet */
+    public static final long EMPTY = -1L;
+
+    private final BlockingQueue<Long> boards;
+    private final Supplier<PuzzleGenerator> generatorFactory;
+    private final String name;
+    private Thread worker;
+
+    public PuzzlePool(String name, int capacity, Supplier<PuzzleGenerator> generatorFactory) {
+        this.name = name;
+        this.boards = new ArrayBlockingQueue<>(capacity);
+        this.generatorFactory = generatorFactory;
+    }
+
+    /** Starts the background worker (does nothing if it is already running) */
+    public synchronized void start() {
+        if (worker != null) return;
+        worker = new Thread(this::fill, name);
+        worker.setDaemon(true);
+        worker.setPriority(Thread.MIN_PRIORITY);
+        worker.start();
+    }
+
+    /** Stops the background worker. Boards already in the queue stay available. */
+    public synchronized void stop() {
+        if (worker == null) return;
+        worker.interrupt();
+        worker = null;
+    }
+
+    /** Takes a ready board, or returns EMPTY immediately if none is ready */
+    public long poll() {
+        Long board = boards.poll();
+        return board == null ? EMPTY : board;
+    }
+
+    /** Number of boards currently waiting in the pool */
+    public int size() {
+        return boards.size();
+    }
+
+    /** Worker loop: generate, then wait for room in the queue, until interrupted */
+    private void fill() {
+        PuzzleGenerator generator = generatorFactory.get();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long board = generator.generate();
+                if (board == PuzzleGenerator.CANCELLED) return;
+                boards.put(board);
+            }
+        } catch (InterruptedException e) {
+            // stop() was called - just let the thread end
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.puzzlehub.engine;
+
+/**
+ * RandomBoardGenerator - Uniformly random, always solvable boards of any size, in O(n).
+ *
+ * WHY NOT SHUFFLE BY RANDOM MOVES?
+ * A random walk needs many moves per tile on large grids and still tends to leave
+ * tiles near their solved cells. Drawing the whole arrangement at once is faster and
+ * every solvable arrangement is equally likely.
+ *
+ * HOW IT WORKS:
+ * 1. Fisher-Yates shuffle of all N² values (0 = empty) - O(n)
+ * 2. Solvability test: a board is solvable exactly when the parity of the permutation
+ *    (where each tile should go) equals the parity of the empty cell's Manhattan
+ *    distance from its solved corner. Every move swaps the empty cell with one tile,
+ *    flipping both parities, so they stay in step all the way to the solved board.
+ *    The permutation parity is found by counting cycles: parity = (n - cycles) mod 2.
+ *    That is the same as the parity of the inversion count, in O(n) instead of the
+ *    O(n log n) a merge-sort inversion count would take.
+ * 3. If the board is unsolvable, swapping any two numbered tiles flips the permutation
+ *    parity and makes it solvable. Both halves are the same size, so the result is
+ *    still uniform over the solvable boards.
+ */
+public final class RandomBoardGenerator {
+    private final FastRandom random;
+
+    public RandomBoardGenerator(long seed) {
+        this.random = new FastRandom(seed);
+    }
+
+    /** Replaces the board with a new uniformly random solvable arrangement */
+    public void shuffle(SlidingBoard board) {
+        board.setTiles(generate(board.getSize()));
+    }
+
+    /** Returns a uniformly random solvable (and not already solved) board, row by row */
+    public byte[] generate(int size) {
+        MoveTable.forSize(size);  // Rejects unsupported sizes
+        int cellCount = size * size;
+        byte[] tiles = new byte[cellCount];
+        do {
+            for (int pos = 0; pos < cellCount; pos++) tiles[pos] = (byte) pos;
+            for (int i = cellCount - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                byte swap = tiles[i];
+                tiles[i] = tiles[j];
+                tiles[j] = swap;
+            }
+            if (!isSolvable(tiles, size)) {
+                // Swap the first two numbered tiles to flip the permutation parity
+                int a = tiles[0] != 0 ? 0 : 1;
+                int b = tiles[a + 1] != 0 ? a + 1 : a + 2;
+                byte swap = tiles[a];
+                tiles[a] = tiles[b];
+                tiles[b] = swap;
+            }
+        } while (isSolved(tiles));
+        return tiles;
+    }
+
+    /** True if the board (tiles[pos] = value, 0 = empty) can reach the solved state */
+    public static boolean isSolvable(byte[] tiles, int size) {
+        int cellCount = size * size;
+        if (tiles.length != cellCount) {
+            throw new IllegalArgumentException("Expected " + cellCount + " tiles, got " + tiles.length);
+        }
+        // Permutation parity by cycle counting, with the empty cell treated as the last tile
+        boolean[] visited = new boolean[cellCount];
+        int cycles = 0;
+        int emptyPos = -1;
+        for (int start = 0; start < cellCount; start++) {
+            if (tiles[start] == 0) emptyPos = start;
+            if (visited[start]) continue;
+            cycles++;
+            for (int pos = start; !visited[pos]; pos = goalOf(tiles[pos], cellCount)) {
+                visited[pos] = true;
+            }
+        }
+        if (emptyPos < 0) throw new IllegalArgumentException("Board has no empty tile");
+
+        int permutationParity = (cellCount - cycles) & 1;
+        int last = size - 1;
+        int emptyDistance = (last - emptyPos / size) + (last - emptyPos % size);
+        return permutationParity == (emptyDistance & 1);
+    }
+
+    private static int goalOf(int tile, int cellCount) {
+        return tile == 0 ? cellCount - 1 : tile - 1;
+    }
+
+    private static boolean isSolved(byte[] tiles) {
+        for (int pos = 0; pos < tiles.length - 1; pos++) {
+            if (tiles[pos] != pos + 1) return false;
+        }
+        return true;
+    }
+}
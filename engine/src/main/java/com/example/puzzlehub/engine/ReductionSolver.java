@@ -0,0 +1,275 @@
+package com.example.puzzlehub.engine;
+
+import java.util.Arrays;
+
+/**
+ * ReductionSolver - Fast (but not shortest) solver for any board from 3×3 to 10×10.
+ *
+ * WHY NOT IDA* EVERYWHERE?
+ * Optimal search is only practical up to 4×4. On 5×5 and larger the search tree is
+ * astronomically big, so hints and auto-solve use the way people solve the puzzle:
+ *
+ * ROW/COLUMN REDUCTION:
+ * 1. Solve the top row of the unsolved region, then its left column. Both are now
+ *    locked, and the region is one size smaller (N×N -> (N-1)×(N-1)).
+ * 2. Repeat until only the bottom-right 3×3 corner is left.
+ * 3. Solve that corner optimally with SlidingSolver (it is just an 8-puzzle).
+ *
+ * PLACING ONE TILE:
+ * A BFS over (tile cell, empty cell) pairs finds the fewest moves that bring the tile
+ * to its target cell while the empty cell never enters a locked cell. At most
+ * 100 × 100 pairs exist on a 10×10 board, so this is still instant.
+ *
+ * THE LAST TWO TILES OF A LINE:
+ * They cannot be placed one after the other - placing the last one would have to
+ * move the one before it. Instead, the second-to-last tile is parked in the LAST
+ * cell and the last tile directly next to it (below for rows, to the right for
+ * columns). Then the empty cell goes to the second-to-last cell and two moves
+ * rotate both tiles into place. While parking, the last tile is pinned in the far
+ * corner of the region; otherwise it could be left in the second-to-last cell, a dead
+ * end the empty cell cannot get out of without undoing the parking.
+ *
+ * All scratch arrays are allocated once per solver, so the only allocations during
+ * a solve are the growing move list. One instance is NOT thread-safe.
+ */
+public final class ReductionSolver {
+    private static final int CORNER = 3;  // The final region is solved optimally as a 3×3
+
+    private final int size;
+    private final int cellCount;
+    private final MoveTable table;
+    private final SlidingSolver cornerSolver = new SlidingSolver(CORNER);
+
+    // Working state
+    private final byte[] tiles;        // tiles[pos] = tile value (0 = empty)
+    private final boolean[] locked;    // Cells the empty cell may not pass through
+    private int emptyPos;
+    private int[] moves = new int[256];
+    private int moveCount;
+
+    // BFS scratch space
+    private final int[] queue;
+    private final int[] parent;
+    private final int[] visitStamp;    // visitStamp[pos] == stamp means "visited in this BFS"
+    private final int[] routeBuffer;   // Cells to tap, filled by the searches
+    private final int[] pairQueue;     // (tile cell, empty cell) pairs for placeTile()
+    private final int[] pairParent;
+    private final int[] pairStamp;
+    private int stamp;
+
+    public ReductionSolver(int size) {
+        this.table = MoveTable.forSize(size);  // Rejects unsupported sizes
+        this.size = size;
+        this.cellCount = size * size;
+        tiles = new byte[cellCount];
+        locked = new boolean[cellCount];
+        queue = new int[cellCount];
+        parent = new int[cellCount];
+        visitStamp = new int[cellCount];
+        pairQueue = new int[cellCount * cellCount];
+        pairParent = new int[cellCount * cellCount];
+        pairStamp = new int[cellCount * cellCount];
+        routeBuffer = new int[cellCount * cellCount];
+    }
+
+    /** Solves a copy of the board; see solve(byte[]) */
+    public int[] solve(SlidingBoard board) {
+        return solve(board.copyTiles());
+    }
+
+    /**
+     * Returns the tile positions to tap, in order, to solve the board.
+     * An already-solved board returns an empty array; an interrupted solve returns null.
+     * Throws IllegalArgumentException if the board cannot be solved.
+     */
+    public int[] solve(byte[] start) {
+        if (start.length != cellCount) {
+            throw new IllegalArgumentException("Expected " + cellCount + " tiles, got " + start.length);
+        }
+        System.arraycopy(start, 0, tiles, 0, cellCount);
+        Arrays.fill(locked, false);
+        emptyPos = -1;
+        for (int pos = 0; pos < cellCount; pos++) {
+            if (tiles[pos] == 0) emptyPos = pos;
+        }
+        if (emptyPos < 0) throw new IllegalArgumentException("Board has no empty tile");
+        if (!RandomBoardGenerator.isSolvable(tiles, size)) {
+            throw new IllegalArgumentException("Board is not solvable");
+        }
+        moveCount = 0;
+
+        for (int line = 0; line < size - CORNER; line++) {
+            if (!solveLine(line, line, false)) return null;     // Row "line", from column "line"
+            if (!solveLine(line, line + 1, true)) return null;  // Column "line", below that row
+        }
+        if (!solveCorner()) return null;
+        return Arrays.copyOf(moves, moveCount);
+    }
+
+    /**
+     * Places the tiles of one row (or one column when transposed), starting at offset
+     * "from" along the line, and locks them.
+     */
+    private boolean solveLine(int line, int from, boolean transposed) {
+        int last = size - 1;
+        for (int offset = from; offset < last - 1; offset++) {
+            if (Thread.currentThread().isInterrupted()) return false;
+            int target = cell(line, offset, transposed);
+            placeTile(target + 1, target);
+            locked[target] = true;
+        }
+        if (Thread.currentThread().isInterrupted()) return false;
+
+        int first = cell(line, last - 1, transposed);
+        int second = cell(line, last, transposed);
+        if (tiles[first] != first + 1 || tiles[second] != second + 1) {
+            // Pin the second tile in the far corner of the region while the first one is
+            // parked, so it cannot end up trapped in the dead-end first cell. A corner is
+            // used because pinning it never cuts the remaining free cells in two.
+            int away = cell(last, from, transposed);
+            placeTile(second + 1, away);
+            locked[away] = true;
+            placeTile(first + 1, second);
+            locked[second] = true;
+            locked[away] = false;
+            // Park the second tile next to the first one
+            int parking = cell(line + 1, last, transposed);
+            placeTile(second + 1, parking);
+            locked[parking] = true;
+            // Rotate both into place: the empty cell enters the first cell, then two moves
+            routeEmpty(first);
+            tap(second);
+            tap(parking);
+            locked[parking] = false;
+        }
+        locked[first] = true;
+        locked[second] = true;
+        return true;
+    }
+
+    /** Position of a cell in a row (or in a column when transposed) */
+    private int cell(int line, int offset, boolean transposed) {
+        return transposed ? offset * size + line : line * size + offset;
+    }
+
+    /**
+     * Moves one tile to the target cell without disturbing any locked cell.
+     * Searches (tile cell, empty cell) pairs breadth-first, so the result is the fewest
+     * moves, and the empty cell can never get trapped behind the tile in a dead end.
+     */
+    private void placeTile(int tile, int target) {
+        int pos = 0;
+        while (tiles[pos] != tile) pos++;
+        if (pos == target) return;
+
+        stamp++;
+        int head = 0;
+        int tail = 0;
+        int start = pos * cellCount + emptyPos;
+        pairQueue[tail++] = start;
+        pairStamp[start] = stamp;
+        int found = -1;
+        while (head < tail && found < 0) {
+            int pair = pairQueue[head++];
+            int tilePos = pair / cellCount;
+            int empty = pair % cellCount;
+            for (int next : table.neighbors(empty)) {
+                if (locked[next]) continue;
+                // Moving the empty cell onto the tile slides the tile the other way
+                int nextTile = next == tilePos ? empty : tilePos;
+                int nextPair = nextTile * cellCount + next;
+                if (pairStamp[nextPair] == stamp) continue;
+                pairStamp[nextPair] = stamp;
+                pairParent[nextPair] = pair;
+                if (nextTile == target) {
+                    found = nextPair;
+                    break;
+                }
+                pairQueue[tail++] = nextPair;
+            }
+        }
+        if (found < 0) throw new IllegalStateException("Tile " + tile + " cannot reach its cell");
+
+        // Each step's new empty cell is the cell that was tapped
+        int length = 0;
+        for (int p = found; p != start; p = pairParent[p]) length++;
+        int i = length;
+        for (int p = found; p != start; p = pairParent[p]) routeBuffer[--i] = p % cellCount;
+        for (i = 0; i < length; i++) {
+            tap(routeBuffer[i]);
+        }
+    }
+
+    /** Walks the empty cell to the target along a shortest path through unlocked cells */
+    private void routeEmpty(int target) {
+        int length = findPath(emptyPos, target);
+        if (length < 0) throw new IllegalStateException("Empty cell cannot reach cell " + target);
+        for (int i = 0; i < length; i++) {
+            tap(routeBuffer[i]);
+        }
+    }
+
+    /**
+     * Breadth-first search over unlocked cells. Writes the path (excluding "from",
+     * including "to") into routeBuffer and returns its length, or -1 if there is none.
+     */
+    private int findPath(int from, int to) {
+        if (from == to) return 0;
+        stamp++;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = from;
+        visitStamp[from] = stamp;
+        while (head < tail) {
+            int pos = queue[head++];
+            for (int next : table.neighbors(pos)) {
+                if (locked[next] || visitStamp[next] == stamp) continue;
+                visitStamp[next] = stamp;
+                parent[next] = pos;
+                if (next == to) {
+                    int length = 0;
+                    for (int p = to; p != from; p = parent[p]) length++;
+                    int i = length;
+                    for (int p = to; p != from; p = parent[p]) routeBuffer[--i] = p;
+                    return length;
+                }
+                queue[tail++] = next;
+            }
+        }
+        return -1;
+    }
+
+    /** Solves the remaining bottom-right 3×3 region optimally as an 8-puzzle */
+    private boolean solveCorner() {
+        int base = size - CORNER;
+        long corner = 0;
+        for (int i = 0; i < CORNER * CORNER; i++) {
+            int tile = tiles[(base + i / CORNER) * size + base + i % CORNER];
+            int local = 0;
+            if (tile != 0) {
+                // Renumber the tile by its solved cell inside the corner
+                int goal = tile - 1;
+                int row = goal / size - base;
+                int col = goal % size - base;
+                if (row < 0 || col < 0) throw new IllegalStateException("Tile " + tile + " left behind");
+                local = row * CORNER + col + 1;
+            }
+            corner |= (long) local << (i * 4);
+        }
+        int[] solution = cornerSolver.solve(corner);
+        if (solution == null) return false;
+        for (int local : solution) {
+            tap((base + local / CORNER) * size + base + local % CORNER);
+        }
+        return true;
+    }
+
+    /** Slides the tile at pos into the (adjacent) empty cell and records the move */
+    private void tap(int pos) {
+        tiles[emptyPos] = tiles[pos];
+        tiles[pos] = 0;
+        emptyPos = pos;
+        if (moveCount == moves.length) moves = Arrays.copyOf(moves, moveCount * 2);
+        moves[moveCount++] = pos;
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.puzzlehub.engine;
+
+import java.util.Arrays;
+
+/**
+ * Replay - A recorded game (starting position + every move with its time), and its
+ * compact byte encoding for storing next to the score.
+ *
+ * WHAT IS RECORDED:
+ * - Sliding puzzle: the shuffled board, then for each move the direction the tile slid
+ *   (UP/DOWN/LEFT/RIGHT). Which tile moved follows from the empty cell, so 2 bits are enough.
+ * - Memory match: the dealt faces (pair id per card), then the index of every card turned
+ *   up. Hiding a mismatched pair is not recorded - MemoryDeck does it before the next flip.
+ * - For each move, the time since the first move (stored in TIME_UNIT_MS steps).
+ *
+ * ENCODING (all little pieces, no padding between them except at the byte boundaries):
+ *   version byte, game byte, varint size (grid size or card count)
+ *   starting position, bit-packed: each value in just enough bits (4 bits per 3×3 tile)
+ *   varint move count, then the moves bit-packed (2 bits each for sliding,
+ *   e.g. 4 bits per card index on a 16-card deck)
+ *   one varint per move: the time delta from the previous move in TIME_UNIT_MS units
+ *   (most taps are under 1.28 s apart, which fits in a single byte)
+ * A 3×3 game of 30 moves is about 50 bytes, a 4×4 game of 120 moves about 160 bytes.
+ */
+public final class Replay {
+    public static final int GAME_SLIDE = 1;
+    public static final int GAME_MEMORY = 2;
+
+    // Direction a sliding tile moved (into the empty cell)
+    public static final int UP = 0;
+    public static final int DOWN = 1;
+    public static final int LEFT = 2;
+    public static final int RIGHT = 3;
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int TIME_UNIT_MS = 10;
+    private static final int MAX_CARDS = 1 << 12;
+
+    private final int game;
+    private final int size;       // Grid size (sliding) or card count (memory)
+    private final int[] start;    // Tiles (sliding) or pair ids (memory), one per cell
+    private int[] moves = new int[64];
+    private long[] timesMs = new long[64];  // Time of each move since the first move
+    private int moveCount;
+    private long firstMoveAt;
+
+    private Replay(int game, int size, int[] start) {
+        this.game = game;
+        this.size = size;
+        this.start = start;
+    }
+
+    /** Starts recording a sliding game from the board's current (shuffled) position */
+    public static Replay forSliding(SlidingBoard board) {
+        byte[] tiles = board.copyTiles();
+        int[] start = new int[tiles.length];
+        for (int i = 0; i < tiles.length; i++) start[i] = tiles[i];
+        return new Replay(GAME_SLIDE, board.getSize(), start);
+    }
+
+    /** Starts recording a memory game from the deck's current deal */
+    public static Replay forMemory(MemoryDeck deck) {
+        int[] start = new int[deck.getCardCount()];
+        for (int i = 0; i < start.length; i++) start[i] = deck.getFace(i);
+        return new Replay(GAME_MEMORY, start.length, start);
+    }
+
+    /** Records the tile at tilePos sliding into emptyPos; call before or after the move */
+    public void recordSlide(int tilePos, int emptyPos, long nowMs) {
+        int direction;
+        if (tilePos == emptyPos + size) direction = UP;
+        else if (tilePos == emptyPos - size) direction = DOWN;
+        else if (tilePos == emptyPos + 1) direction = LEFT;
+        else if (tilePos == emptyPos - 1) direction = RIGHT;
+        else throw new IllegalArgumentException("Tile " + tilePos + " is not next to the empty cell " + emptyPos);
+        record(direction, nowMs);
+    }
+
+    /** Records a card being turned face up */
+    public void recordFlip(int cardPos, long nowMs) {
+        record(cardPos, nowMs);
+    }
+
+    private void record(int move, long nowMs) {
+        if (moveCount == 0) firstMoveAt = nowMs;
+        if (moveCount == moves.length) {
+            moves = Arrays.copyOf(moves, moveCount * 2);
+            timesMs = Arrays.copyOf(timesMs, moveCount * 2);
+        }
+        moves[moveCount] = move;
+        timesMs[moveCount] = nowMs - firstMoveAt;
+        moveCount++;
+    }
+
+    /**
+     * Continues recording after the replay was decoded (e.g. a saved game resumed in a new
+     * process): the next move is timed from nowMs, so time spent away is not recorded.
+     */
+    public void resumeRecording(long nowMs) {
+        firstMoveAt = moveCount == 0 ? nowMs : nowMs - timesMs[moveCount - 1];
+    }
+
+    /**
+     * Plays every recorded move onto a board set to getStart(), leaving it where the
+     * recording ended. Returns false if a move does not fit the board.
+     */
+    public boolean playInto(SlidingBoard board) {
+        for (int i = 0; i < moveCount; i++) {
+            int emptyPos = board.getEmptyPos();
+            int tilePos = slideTile(emptyPos, moves[i], size);
+            if (tilePos < 0 || tilePos >= board.getCellCount() || !board.canMove(tilePos)) return false;
+            board.moveTile(tilePos);
+        }
+        return true;
+    }
+
+    /**
+     * Plays every recorded flip onto a deck dealt with getStart(). A mismatched pair is
+     * turned back before the next flip, as in the game; the last one may still be face up.
+     * Returns false if a flip is not possible.
+     */
+    public boolean playInto(MemoryDeck deck) {
+        for (int i = 0; i < moveCount; i++) {
+            if (deck.isWaitingForHide()) deck.hideMismatch();
+            if (deck.flip(moves[i]) == MemoryDeck.FLIP_IGNORED) return false;
+        }
+        return true;
+    }
+
+    /** Cell of the tile that slides in the given direction into emptyPos */
+    public static int slideTile(int emptyPos, int direction, int size) {
+        switch (direction) {
+            case UP: return emptyPos + size;
+            case DOWN: return emptyPos - size;
+            case LEFT: return emptyPos + 1;
+            default: return emptyPos - 1;
+        }
+    }
+
+    public int getGame() {
+        return game;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /** Starting tiles (sliding) or dealt pair ids (memory) */
+    public int[] getStart() {
+        return start.clone();
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /** A direction (sliding) or card index (memory) */
+    public int getMove(int index) {
+        return moves[index];
+    }
+
+    /** Milliseconds from the first move to this one */
+    public long getTimeMs(int index) {
+        return timesMs[index];
+    }
+
+    // ---- Encoding ----
+
+    public byte[] encode() {
+        ByteWriter out = new ByteWriter(16 + start.length + moveCount * 2);
+        out.putByte(FORMAT_VERSION);
+        out.putByte(game);
+        out.putVarLong(size);
+        out.putBits(start, start.length, startBits());
+        out.putVarLong(moveCount);
+        out.putBits(moves, moveCount, moveBits());
+        long previous = 0;
+        for (int i = 0; i < moveCount; i++) {
+            // Quantize the absolute time so rounding errors do not add up over a long game
+            long units = (timesMs[i] + TIME_UNIT_MS / 2) / TIME_UNIT_MS;
+            out.putVarLong(units - previous);
+            previous = units;
+        }
+        return out.toByteArray();
+    }
+
+    /** Decodes encode()'s output; throws IllegalArgumentException for malformed data */
+    public static Replay decode(byte[] data) {
+        ByteReader in = new ByteReader(data);
+        if (in.getByte() != FORMAT_VERSION) throw new IllegalArgumentException("Unknown replay version");
+        int game = in.getByte();
+        long size = in.getVarLong();
+        int cells;
+        if (game == GAME_SLIDE && size >= MoveTable.MIN_SIZE && size <= MoveTable.MAX_SIZE) {
+            cells = (int) (size * size);
+        } else if (game == GAME_MEMORY && size > 0 && size <= MAX_CARDS && (size & 1) == 0) {
+            cells = (int) size;
+        } else {
+            throw new IllegalArgumentException("Bad replay header");
+        }
+
+        Replay replay = new Replay(game, (int) size, new int[cells]);
+        in.getBits(replay.start, cells, replay.startBits());
+        replay.checkStart();
+        long count = in.getVarLong();
+        if (count < 0 || count > (long) in.remaining() * 8) throw new IllegalArgumentException("Bad move count");
+        replay.moveCount = (int) count;
+        replay.moves = new int[Math.max(1, replay.moveCount)];
+        replay.timesMs = new long[replay.moves.length];
+        in.getBits(replay.moves, replay.moveCount, replay.moveBits());
+        if (game == GAME_MEMORY) {
+            for (int i = 0; i < replay.moveCount; i++) {
+                if (replay.moves[i] >= cells) throw new IllegalArgumentException("Bad card index");
+            }
+        }
+        long units = 0;
+        for (int i = 0; i < replay.moveCount; i++) {
+            units += in.getVarLong();
+            replay.timesMs[i] = units * TIME_UNIT_MS;
+        }
+        return replay;
+    }
+
+    /** Sliding: every tile exactly once. Memory: every pair id exactly twice. */
+    private void checkStart() {
+        int[] seen = new int[start.length];
+        int limit = game == GAME_SLIDE ? start.length : start.length / 2;
+        int copies = game == GAME_SLIDE ? 1 : 2;
+        for (int value : start) {
+            if (value >= limit || ++seen[value] > copies) {
+                throw new IllegalArgumentException("Bad starting position in replay");
+            }
+        }
+    }
+
+    private int startBits() {
+        return game == GAME_SLIDE ? bitsFor(start.length) : bitsFor(start.length / 2);
+    }
+
+    private int moveBits() {
+        return game == GAME_SLIDE ? 2 : bitsFor(start.length);
+    }
+
+    /** Bits needed for the values 0 .. count-1 */
+    private static int bitsFor(int count) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(count - 1));
+    }
+
+    /** Growable byte array with varints and bit-packed int runs */
+    private static final class ByteWriter {
+        private byte[] bytes;
+        private int length;
+
+        ByteWriter(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void putByte(int value) {
+            if (length == bytes.length) bytes = Arrays.copyOf(bytes, length * 2 + 16);
+            bytes[length++] = (byte) value;
+        }
+
+        void putVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                putByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            putByte((int) value);
+        }
+
+        /** Writes count values of the given width, low bits first, padded to a whole byte */
+        void putBits(int[] values, int count, int width) {
+            long buffer = 0;
+            int buffered = 0;
+            for (int i = 0; i < count; i++) {
+                buffer |= (long) values[i] << buffered;
+                buffered += width;
+                while (buffered >= 8) {
+                    putByte((int) buffer);
+                    buffer >>>= 8;
+                    buffered -= 8;
+                }
+            }
+            if (buffered > 0) putByte((int) buffer);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+    }
+
+    /** Reads what ByteWriter wrote, throwing IllegalArgumentException past the end */
+    private static final class ByteReader {
+        private final byte[] bytes;
+        private int position;
+
+        ByteReader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        int remaining() {
+            return bytes.length - position;
+        }
+
+        int getByte() {
+            if (position >= bytes.length) throw new IllegalArgumentException("Replay data is truncated");
+            return bytes[position++] & 0xFF;
+        }
+
+        long getVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = getByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+            }
+            throw new IllegalArgumentException("Malformed number in replay");
+        }
+
+        void getBits(int[] values, int count, int width) {
+            long buffer = 0;
+            int buffered = 0;
+            int mask = (1 << width) - 1;
+            for (int i = 0; i < count; i++) {
+                while (buffered < width) {
+                    buffer |= (long) getByte() << buffered;
+                    buffered += 8;
+                }
+                values[i] = (int) (buffer & mask);
+                buffer >>>= width;
+                buffered -= width;
+            }
+        }
+    }
+}
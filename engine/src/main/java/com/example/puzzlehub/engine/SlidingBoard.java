@@ -0,0 +1,252 @@
+package com.example.puzzlehub.engine;
+
+import java.util.Arrays;
+
+/**
+ * SlidingBoard - Compact board for the Sliding Number Puzzle (3×3 up to 10×10).
+ *
+ * BYTE ARRAY LAYOUT:
+ * The tiles are stored in one byte[] with one byte per cell, row by row.
+ * Value 0 is the empty space, exactly like the old List<Integer> board.
+ * A 10×10 board has 99 tiles, so every value fits in a byte - the whole board is
+ * 100 bytes, with no boxing and no per-tile objects.
+ *
+ * BIT-PACKED STATE (3×3 and 4×4 ONLY):
+ * Small boards additionally keep the whole grid in ONE primitive long, 4 bits
+ * (a "nibble") per cell. Cell 0 lives in bits 0-3, cell 1 in bits 4-7, and so on.
+ * A 4×4 board uses all 64 bits, a 3×3 board uses the lowest 36 bits.
+ * - Moving a tile is a couple of shifts and masks (O(1), no allocation)
+ * - Solvers, generators and caches use getState() directly as a primitive key
+ * - Two packed boards are equal when their longs are equal, so equals()/hashCode()
+ *   are O(1); larger boards compare their byte arrays
+ * Larger boards do not fit in 64 bits and have no packed state (isPacked() is false).
+ *
+ * The static helpers work on raw long states so search code never needs objects.
+ *
+ * INCREMENTAL TRACKING:
+ * The board also keeps the number of misplaced tiles and the total Manhattan
+ * distance to the solved state. A move changes only one tile, so both values are
+ * updated in O(1) from the shared MoveTable, and win detection is just
+ * "misplaced == 0" - even on a 100-tile board.
+ */
+public final class SlidingBoard {
+    private static final int BITS_PER_CELL = 4;
+    private static final long CELL_MASK = 0xFL;
+    private static final int MAX_PACKED_SIZE = 4;
+
+    private final int size;         // 3 for 3×3 ... 10 for 10×10
+    private final int cellCount;    // size * size
+    private final MoveTable table;  // Shared neighbor/adjacency/distance tables
+    private final byte[] tiles;     // tiles[pos] = tile value (0 = empty)
+    private final boolean packed;   // True if the board also keeps a packed long state
+    private long state;             // Packed tiles, 4 bits per cell (3×3 and 4×4 only)
+    private int emptyPos;           // Position of the empty tile (value 0)
+    private int misplaced;          // Tiles (not counting the empty one) outside their solved cell
+    private int manhattan;          // Sum of every tile's Manhattan distance to its solved cell
+
+    /** Creates a board of the given size (3..10) in the solved state */
+    public SlidingBoard(int size) {
+        this.table = MoveTable.forSize(size);  // Rejects unsupported sizes
+        this.size = size;
+        this.cellCount = size * size;
+        this.tiles = new byte[cellCount];
+        this.packed = size <= MAX_PACKED_SIZE;
+        reset();
+    }
+
+    /** Creates an independent copy (e.g. a snapshot to hand to a background solver) */
+    public SlidingBoard(SlidingBoard other) {
+        this.table = other.table;
+        this.size = other.size;
+        this.cellCount = other.cellCount;
+        this.tiles = other.tiles.clone();
+        this.packed = other.packed;
+        this.state = other.state;
+        this.emptyPos = other.emptyPos;
+        this.misplaced = other.misplaced;
+        this.manhattan = other.manhattan;
+    }
+
+    /** Puts the board back in the solved state: 1, 2, 3, ..., N-1, 0 */
+    public void reset() {
+        for (int pos = 0; pos < cellCount - 1; pos++) {
+            tiles[pos] = (byte) (pos + 1);
+        }
+        tiles[cellCount - 1] = 0;
+        state = packed ? solvedState(size) : 0;
+        emptyPos = cellCount - 1;
+        misplaced = 0;
+        manhattan = 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getEmptyPos() {
+        return emptyPos;
+    }
+
+    public MoveTable getMoveTable() {
+        return table;
+    }
+
+    /** Number of tiles that are not in their solved position */
+    public int getMisplacedCount() {
+        return misplaced;
+    }
+
+    /** Total Manhattan distance to the solved board ("distance to solved") */
+    public int getManhattanDistance() {
+        return manhattan;
+    }
+
+    /** True for 3×3 and 4×4 boards, which also keep a packed long state */
+    public boolean isPacked() {
+        return packed;
+    }
+
+    /** Returns the packed state (usable directly as a map key or solver state) */
+    public long getState() {
+        if (!packed) {
+            throw new IllegalStateException("Only 3x3 and 4x4 boards have a packed state");
+        }
+        return state;
+    }
+
+    /** Replaces the whole board with a packed state of the same size (3×3 and 4×4 only) */
+    public void setState(long newState) {
+        if (!packed) {
+            throw new IllegalStateException("Only 3x3 and 4x4 boards have a packed state");
+        }
+        for (int pos = 0; pos < cellCount; pos++) {
+            tiles[pos] = (byte) tileAt(newState, pos);
+        }
+        state = newState;
+        recount();
+    }
+
+    /** Replaces the whole board with the given tiles (copied; tiles[pos] = value, 0 = empty) */
+    public void setTiles(byte[] newTiles) {
+        if (newTiles.length != cellCount) {
+            throw new IllegalArgumentException("Expected " + cellCount + " tiles, got " + newTiles.length);
+        }
+        System.arraycopy(newTiles, 0, tiles, 0, cellCount);
+        if (packed) {
+            state = 0;
+            for (int pos = 0; pos < cellCount; pos++) {
+                state |= (long) tiles[pos] << (pos * BITS_PER_CELL);
+            }
+        }
+        recount();
+    }
+
+    /** Returns a copy of the tiles, row by row */
+    public byte[] copyTiles() {
+        return tiles.clone();
+    }
+
+    /** Full recount - only needed when the whole board is replaced */
+    private void recount() {
+        emptyPos = -1;
+        misplaced = 0;
+        manhattan = 0;
+        for (int pos = 0; pos < cellCount; pos++) {
+            int tile = tiles[pos];
+            if (tile == 0) {
+                emptyPos = pos;
+                continue;
+            }
+            if (table.goalOf(tile) != pos) misplaced++;
+            manhattan += table.distance(tile, pos);
+        }
+        if (emptyPos < 0) throw new IllegalArgumentException("Board has no empty tile");
+    }
+
+    /** Returns the tile value at the given position (0 = empty) */
+    public int tileAt(int pos) {
+        return tiles[pos];
+    }
+
+    /** True if the tile at pos is next to the empty space (one table lookup) */
+    public boolean canMove(int pos) {
+        return table.isAdjacent(pos, emptyPos);
+    }
+
+    /**
+     * Slides the tile at the given position into the empty space.
+     * The caller is responsible for checking canMove(pos) first.
+     * Constant time and allocation-free for every board size.
+     */
+    public void moveTile(int pos) {
+        int tile = tiles[pos];
+        int goal = table.goalOf(tile);
+        // Only this tile moves, so only its contribution to the counters changes
+        if (goal == pos) misplaced++;
+        if (goal == emptyPos) misplaced--;
+        manhattan += table.distance(tile, emptyPos) - table.distance(tile, pos);
+
+        tiles[emptyPos] = (byte) tile;
+        tiles[pos] = 0;
+        if (packed) state = move(state, pos, emptyPos);
+        emptyPos = pos;
+    }
+
+    /** Solved means no tile is misplaced - a constant-time check */
+    public boolean isSolved() {
+        return misplaced == 0;
+    }
+
+    // ===== Static helpers that work on raw packed states =====
+
+    /** Returns the tile value stored at the given position of a packed state */
+    public static int tileAt(long state, int pos) {
+        return (int) ((state >>> (pos * BITS_PER_CELL)) & CELL_MASK);
+    }
+
+    /**
+     * Moves the tile at tilePos into the empty cell at emptyPos.
+     * Because the empty cell holds 0, we only need to clear one nibble and set the other.
+     */
+    public static long move(long state, int tilePos, int emptyPos) {
+        long tile = (state >>> (tilePos * BITS_PER_CELL)) & CELL_MASK;
+        state &= ~(CELL_MASK << (tilePos * BITS_PER_CELL));
+        return state | (tile << (emptyPos * BITS_PER_CELL));
+    }
+
+    /** Builds the solved packed state for a board of the given size */
+    public static long solvedState(int size) {
+        int total = size * size;
+        long solved = 0;
+        for (int i = 0; i < total - 1; i++) {
+            solved |= (long) (i + 1) << (i * BITS_PER_CELL);
+        }
+        return solved;  // Last nibble stays 0 (empty tile at the end)
+    }
+
+    /** Finds the position of the empty tile in a packed state */
+    public static int findEmpty(long state, int cellCount) {
+        for (int i = 0; i < cellCount; i++) {
+            if (tileAt(state, i) == 0) return i;
+        }
+        throw new IllegalArgumentException("Board has no empty tile");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SlidingBoard)) return false;
+        SlidingBoard other = (SlidingBoard) o;
+        if (size != other.size) return false;
+        return packed ? state == other.state : Arrays.equals(tiles, other.tiles);
+    }
+
+    @Override
+    public int hashCode() {
+        return (packed ? Long.hashCode(state) : Arrays.hashCode(tiles)) * 31 + size;
+    }
+}
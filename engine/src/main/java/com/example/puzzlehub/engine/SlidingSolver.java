@@ -0,0 +1,278 @@
+package com.example.puzzlehub.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SlidingSolver - Finds the shortest solution for a 3×3 or 4×4 sliding board.
+ *
+ * IDA* (ITERATIVE DEEPENING A*):
+ * A depth-first search that gives up on a path as soon as
+ * "moves so far + estimated moves left" exceeds a bound. When a whole pass fails,
+ * the bound is raised to the smallest value that was exceeded and the search restarts.
+ * Memory use is tiny (just the current path), and the first solution found is optimal
+ * because the estimate never over-counts.
+ *
+ * HEURISTIC (estimated moves left):
+ * - Manhattan distance: how far each tile is from its solved cell
+ * - Linear conflict: two tiles in their solved row (or column) but in the wrong order
+ *   must get out of each other's way, which costs at least 2 extra moves
+ * Both are kept up to date incrementally: a move changes one tile, which only affects
+ * the Manhattan term of that tile and the conflicts of the one or two lines it touches.
+ * - Pattern database (4×4 only, optional): the 6-6-3 additive PatternDatabase. A move
+ *   changes one tile, so only that tile's pattern is looked up again. The solver uses
+ *   the larger of the two estimates, which is still admissible.
+ *
+ * CANCELLATION:
+ * solve() is meant to run on a background thread. It checks
+ * Thread.currentThread().isInterrupted() every few thousand nodes, so Future.cancel(true)
+ * stops it quickly and it returns null. The interrupt flag is left set for the caller.
+ *
+ * One instance is NOT thread-safe; ParallelSlidingSolver gives each branch its own.
+ */
+public final class SlidingSolver implements Solver {
+    private static final int INTERRUPT_CHECK_MASK = 0xFFF;  // Check roughly every 4096 nodes
+    static final int FOUND = -1;
+    static final int CANCELLED = -2;
+
+    private final int size;
+    private final int cellCount;
+    private final MoveTable table;
+    private final PatternDatabase patternDatabase;  // null = Manhattan + linear conflict only
+
+    // Mutable search state (one solver instance per search thread)
+    private final int[] tiles;            // tiles[pos] = tile value (0 = empty)
+    private final int[] rowConflicts;     // Linear-conflict penalty per row
+    private final int[] colConflicts;     // Linear-conflict penalty per column
+    private final int[] path;             // Positions the empty cell moved to, in order
+    private final int[] lineBuffer;       // Scratch space for conflict counting
+    private final int[] lisScratch;       // Scratch space for longestIncreasing()
+    private final int[] tilePositions;    // tilePositions[tile] = pos (for pattern lookups)
+    private final int[] patternCosts;     // Current cost of each pattern
+    private int manhattan;
+    private int conflicts;
+    private int patternTotal;
+    private int solutionLength;
+    private long nodes;
+    private AtomicBoolean stopSignal;   // Raised by ParallelSlidingSolver when another branch wins
+
+    public SlidingSolver(int size) {
+        this(size, null);
+    }
+
+    /** Creates a solver that also uses a pattern database (must be for the 4×4 board) */
+    public SlidingSolver(int size, PatternDatabase patternDatabase) {
+        if (size < 3 || size > 4) {
+            throw new IllegalArgumentException("Optimal solving supports 3x3 and 4x4 only: " + size);
+        }
+        if (patternDatabase != null && size != PatternDatabase.SIZE) {
+            throw new IllegalArgumentException("Pattern database is for the 4x4 board only");
+        }
+        this.patternDatabase = patternDatabase;
+        this.size = size;
+        this.cellCount = size * size;
+        this.table = MoveTable.forSize(size);
+        tiles = new int[cellCount];
+        rowConflicts = new int[size];
+        colConflicts = new int[size];
+        path = new int[128];
+        lineBuffer = new int[size];
+        lisScratch = new int[size];
+        tilePositions = new int[cellCount];
+        patternCosts = new int[patternDatabase == null ? 0 : patternDatabase.getPatternCount()];
+    }
+
+    /**
+     * Solves the packed board and returns the tile positions to tap, in order.
+     * An already-solved board returns an empty array; a cancelled search returns null.
+     */
+    @Override
+    public int[] solve(long state) {
+        load(state);
+        int emptyPos = SlidingBoard.findEmpty(state, cellCount);
+        int bound = heuristic();
+        nodes = 0;
+        stopSignal = null;
+        while (true) {
+            int result = search(emptyPos, -1, 0, bound);
+            if (result == FOUND) return Arrays.copyOf(path, solutionLength);
+            if (result == CANCELLED) return null;
+            bound = result;  // Smallest f-value that exceeded the old bound
+        }
+    }
+
+    /** Number of nodes expanded by the last solve() call */
+    @Override
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /** The heuristic estimate for a packed state (used to prune the parallel split) */
+    int estimate(long state) {
+        load(state);
+        return heuristic();
+    }
+
+    /**
+     * Searches one subtree for ParallelSlidingSolver, below a fixed bound.
+     * "state" was reached from the root by the moves in prefix; previousPos is where the
+     * empty cell was before the last prefix move (-1 if the prefix is empty).
+     * Returns FOUND (see lastSolution()), CANCELLED, or the smallest exceeded f-value.
+     */
+    int searchBranch(long state, int[] prefix, int previousPos, int bound, AtomicBoolean stop) {
+        load(state);
+        System.arraycopy(prefix, 0, path, 0, prefix.length);
+        nodes = 0;
+        stopSignal = stop;
+        return search(SlidingBoard.findEmpty(state, cellCount), previousPos, prefix.length, bound);
+    }
+
+    /** The solution found by the last searchBranch() call that returned FOUND */
+    int[] lastSolution() {
+        return Arrays.copyOf(path, solutionLength);
+    }
+
+    /**
+     * Depth-first search below the current bound.
+     * Returns FOUND, CANCELLED, or the smallest f-value that exceeded the bound.
+     */
+    private int search(int emptyPos, int previousPos, int depth, int bound) {
+        int h = heuristic();
+        int f = depth + h;
+        if (f > bound) return f;
+        if (h == 0) {
+            solutionLength = depth;
+            return FOUND;
+        }
+        if ((++nodes & INTERRUPT_CHECK_MASK) == 0 && isStopRequested()) {
+            return CANCELLED;
+        }
+
+        int min = Integer.MAX_VALUE;
+        int[] neighbors = table.neighbors(emptyPos);
+        for (int next : neighbors) {
+            if (next == previousPos) continue;  // Never undo the previous move
+            applyMove(next, emptyPos);
+            path[depth] = next;
+            int result = search(next, emptyPos, depth + 1, bound);
+            applyMove(emptyPos, next);  // Undo
+            if (result == FOUND || result == CANCELLED) return result;
+            if (result < min) min = result;
+        }
+        return min;
+    }
+
+    private boolean isStopRequested() {
+        return Thread.currentThread().isInterrupted() || (stopSignal != null && stopSignal.get());
+    }
+
+    /** Current admissible estimate of the moves left */
+    private int heuristic() {
+        return Math.max(manhattan + conflicts, patternTotal);
+    }
+
+    /** Copies a packed state into the working arrays and computes the heuristic from scratch */
+    private void load(long state) {
+        manhattan = 0;
+        for (int pos = 0; pos < cellCount; pos++) {
+            int tile = SlidingBoard.tileAt(state, pos);
+            tiles[pos] = tile;
+            tilePositions[tile] = pos;
+            manhattan += table.distance(tile, pos);
+        }
+        conflicts = 0;
+        for (int line = 0; line < size; line++) {
+            rowConflicts[line] = rowConflict(line);
+            colConflicts[line] = colConflict(line);
+            conflicts += rowConflicts[line] + colConflicts[line];
+        }
+        patternTotal = 0;
+        for (int p = 0; p < patternCosts.length; p++) {
+            patternCosts[p] = patternDatabase.cost(p, tilePositions);
+            patternTotal += patternCosts[p];
+        }
+    }
+
+    /**
+     * Slides the tile at "from" into the empty cell at "to" and updates the heuristic.
+     * Horizontal moves only change the tile's column membership (so two columns are
+     * re-counted); vertical moves only change its row membership.
+     */
+    private void applyMove(int from, int to) {
+        int tile = tiles[from];
+        tiles[to] = tile;
+        tiles[from] = 0;
+        tilePositions[tile] = to;
+        manhattan += table.distance(tile, to) - table.distance(tile, from);
+
+        if (patternDatabase != null) {
+            int pattern = patternDatabase.patternOf(tile);
+            int cost = patternDatabase.cost(pattern, tilePositions);
+            patternTotal += cost - patternCosts[pattern];
+            patternCosts[pattern] = cost;
+        }
+
+        if (from / size == to / size) {
+            updateColumn(from % size);
+            updateColumn(to % size);
+        } else {
+            updateRow(from / size);
+            updateRow(to / size);
+        }
+    }
+
+    private void updateRow(int row) {
+        int value = rowConflict(row);
+        conflicts += value - rowConflicts[row];
+        rowConflicts[row] = value;
+    }
+
+    private void updateColumn(int col) {
+        int value = colConflict(col);
+        conflicts += value - colConflicts[col];
+        colConflicts[col] = value;
+    }
+
+    /** Conflict penalty for one row: tiles that belong in this row, in board order by goal column */
+    private int rowConflict(int row) {
+        int count = 0;
+        for (int col = 0; col < size; col++) {
+            int tile = tiles[row * size + col];
+            if (tile != 0 && (tile - 1) / size == row) {
+                lineBuffer[count++] = (tile - 1) % size;
+            }
+        }
+        return 2 * (count - longestIncreasing(count));
+    }
+
+    /** Conflict penalty for one column: tiles that belong in this column, in board order by goal row */
+    private int colConflict(int col) {
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            int tile = tiles[row * size + col];
+            if (tile != 0 && (tile - 1) % size == col) {
+                lineBuffer[count++] = (tile - 1) / size;
+            }
+        }
+        return 2 * (count - longestIncreasing(count));
+    }
+
+    /**
+     * Length of the longest increasing subsequence in lineBuffer[0..count).
+     * Tiles outside it are the minimum that must leave the line, 2 moves each.
+     * Lines hold at most 4 tiles, so the simple O(n²) version is fastest here.
+     */
+    private int longestIncreasing(int count) {
+        if (count < 2) return count;
+        int[] best = lisScratch;
+        int longest = 0;
+        for (int i = 0; i < count; i++) {
+            best[i] = 1;
+            for (int j = 0; j < i; j++) {
+                if (lineBuffer[j] < lineBuffer[i] && best[j] + 1 > best[i]) best[i] = best[j] + 1;
+            }
+            if (best[i] > longest) longest = best[i];
+        }
+        return longest;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.puzzlehub.engine;
+
+/**
+ * Solver - Common interface of the sliding puzzle solvers.
+ *
+ * Implementations:
+ * - SlidingSolver: optimal IDA* on a single thread
+ * - ParallelSlidingSolver: the same search split across a ForkJoin pool
+ */
+public interface Solver {
+    /**
+     * Returns the tile positions to tap, in order, to solve the packed board.
+     * An already-solved board returns an empty array; a cancelled search returns null.
+     */
+    int[] solve(long state);
+
+    /** Number of nodes expanded by the last solve() call */
+    long getNodeCount();
+
+    /** Length of the solution, or -1 if the search was cancelled */
+    default int solveLength(long state) {
+        int[] solution = solve(state);
+        return solution == null ? -1 : solution.length;
+    }
+}